@@ -2,46 +2,69 @@ package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientProperties clientProperties) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
+                .build(), clientProperties);
     }
 
-    public ResponseEntity<Object> addBooking(long userId, BookingCreateDto bookingCreateDto) {
+    public Mono<ResponseEntity<Object>> addBooking(long userId, BookingCreateDto bookingCreateDto) {
         return post("", userId, bookingCreateDto);
     }
 
-    public ResponseEntity<Object> approvedOrRejectedBooking(long userId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> approvedOrRejectedBooking(long userId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, long bookingId) {
+    public Mono<ResponseEntity<Object>> approvedOrRejectedBookings(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/owner/batch", userId, decisions);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBookerId(long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsByBookerId(long userId, String state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of("state", state, "size", size, "cursor", cursor);
+            return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsForItemsByOwnerId(long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookingsForItemsByOwnerId(long userId, String state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of("state", state, "size", size, "cursor", cursor);
+            return get("/owner?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getBookingSummaryByBookerId(long userId) {
+        return get("/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingSummaryForItemsByOwnerId(long userId) {
+        return get("/owner/summary", userId);
+    }
 }
@@ -13,11 +13,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -28,42 +33,64 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> addBooking(
+    public Mono<ResponseEntity<Object>> addBooking(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody BookingCreateDto bookingCreateDto) {
         return bookingClient.addBooking(userId, bookingCreateDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approvedOrRejectedBooking(
+    public Mono<ResponseEntity<Object>> approvedOrRejectedBooking(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long bookingId,
             @RequestParam boolean approved) {
         return bookingClient.approvedOrRejectedBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/owner/batch")
+    public Mono<ResponseEntity<Object>> approvedOrRejectedBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody
+            @NotEmpty(message = "Список решений по бронированиям не должен быть пустым")
+            @Size(max = 100, message = "За один запрос можно обработать не более 100 бронирований")
+            List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.approvedOrRejectedBookings(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(
+    public Mono<ResponseEntity<Object>> getBookingById(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long bookingId) {
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBookerId(
+    public Mono<ResponseEntity<Object>> getBookingsByBookerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size) {
-        return bookingClient.getBookingsByBookerId(userId, state, from, size);
+            @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getBookingsByBookerId(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsForItemsByOwnerId(
+    public Mono<ResponseEntity<Object>> getAllBookingsForItemsByOwnerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size) {
-        return bookingClient.getAllBookingsForItemsByOwnerId(userId, state, from, size);
+            @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllBookingsForItemsByOwnerId(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<Object>> getBookingSummaryByBookerId(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingClient.getBookingSummaryByBookerId(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Object>> getBookingSummaryForItemsByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingClient.getBookingSummaryForItemsByOwnerId(userId);
     }
 }
\ No newline at end of file
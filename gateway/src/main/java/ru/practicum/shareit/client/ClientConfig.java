@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import ru.practicum.shareit.client.cache.ResponseCache;
+
+@Configuration
+public class ClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(ClientProperties clientProperties,
+                                                 ClientConnectionMetrics clientConnectionMetrics) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(clientProperties.getMaxConnections())
+                .pendingAcquireMaxCount(clientProperties.getMaxPendingAcquires())
+                .pendingAcquireTimeout(clientProperties.getPendingAcquireTimeout())
+                .maxIdleTime(clientProperties.getMaxIdleTime())
+                .maxLifeTime(clientProperties.getMaxLifeTime())
+                .evictInBackground(clientProperties.getEvictionInterval())
+                .metrics(true, () -> clientConnectionMetrics)
+                .build();
+        return new TimedConnectionProvider(connectionProvider, clientConnectionMetrics);
+    }
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(ClientProperties clientProperties,
+                                                         ConnectionProvider connectionProvider) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setConnectionProvider(connectionProvider);
+        factory.setLoopResources(LoopResources.create("shareit-gateway", clientProperties.getEventLoopThreads(), true));
+        return factory;
+    }
+
+    @Bean
+    public ReactorNettyHttpClientMapper pooledHttpClientMapper(ClientProperties clientProperties,
+                                                               ClientConnectionMetrics clientConnectionMetrics) {
+        return httpClient -> httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) clientProperties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, clientProperties.isKeepAlive())
+                .keepAlive(clientProperties.isKeepAlive())
+                .responseTimeout(clientProperties.getReadTimeout())
+                .observe(clientConnectionMetrics::onStateChange);
+    }
+
+    @Bean
+    public WebClientCustomizer clientFiltersWebClientCustomizer(ResponseCache responseCache,
+                                                                RequestCoalescer requestCoalescer) {
+        return builder -> builder
+                .filter(responseCache.filter())
+                .filter(requestCoalescer.filter());
+    }
+
+    @Bean
+    public CodecCustomizer rawResponseBodyCodecCustomizer() {
+        return configurer -> configurer.customCodecs().register(new RawResponseBodyWriter());
+    }
+}
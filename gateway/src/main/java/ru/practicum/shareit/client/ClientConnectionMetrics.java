@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ClientConnectionMetrics implements ConnectionProvider.MeterRegistrar {
+    static final String ACQUIRE_METRIC = "shareit.gateway.client.pool.acquire";
+    static final String CONNECTIONS_OPENED_METRIC = "shareit.gateway.client.connections.opened";
+    static final String CONNECTIONS_CLOSED_METRIC = "shareit.gateway.client.connections.closed";
+    static final String POOL_METRIC_PREFIX = "shareit.gateway.client.pool.";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer acquired;
+    private final Timer acquireFailed;
+    private final Counter connectionsOpened;
+    private final Counter connectionsClosed;
+
+    public ClientConnectionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.acquired = acquireTimer("success");
+        this.acquireFailed = acquireTimer("error");
+        this.connectionsOpened = meterRegistry.counter(CONNECTIONS_OPENED_METRIC);
+        this.connectionsClosed = meterRegistry.counter(CONNECTIONS_CLOSED_METRIC);
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote.address", remoteAddress.toString());
+        Gauge.builder(POOL_METRIC_PREFIX + "active", metrics, ConnectionPoolMetrics::acquiredSize)
+                .tags(tags).strongReference(true).register(meterRegistry);
+        Gauge.builder(POOL_METRIC_PREFIX + "idle", metrics, ConnectionPoolMetrics::idleSize)
+                .tags(tags).strongReference(true).register(meterRegistry);
+        Gauge.builder(POOL_METRIC_PREFIX + "pending", metrics, ConnectionPoolMetrics::pendingAcquireSize)
+                .tags(tags).strongReference(true).register(meterRegistry);
+        Gauge.builder(POOL_METRIC_PREFIX + "utilization", metrics,
+                        pool -> (double) pool.acquiredSize() / pool.maxAllocatedSize())
+                .tags(tags).strongReference(true).register(meterRegistry);
+    }
+
+    public <T> Mono<T> recordAcquire(Mono<T> acquire) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return acquire
+                    .doOnSuccess(connection -> acquired.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> acquireFailed.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public void onStateChange(Connection connection, ConnectionObserver.State newState) {
+        if (newState == ConnectionObserver.State.CONNECTED) {
+            connectionsOpened.increment();
+            connection.onDispose(connectionsClosed::increment);
+        }
+    }
+
+    private Timer acquireTimer(String outcome) {
+        return Timer.builder(ACQUIRE_METRIC)
+                .description("Время получения соединения из пула: ожидание свободного соединения или открытие нового")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+@Value
+public class RawResponseBody {
+    Flux<DataBuffer> content;
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+    static final String REQUESTS_METRIC = "shareit.gateway.client.coalesced.requests";
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final ClientProperties clientProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (request.method() != HttpMethod.GET || !clientProperties.isCoalesceGets()) {
+                return next.exchange(request);
+            }
+            return Mono.defer(() -> exchange(request, next));
+        };
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next) {
+        Key key = new Key(request.url().getRawPath(), request.url().getRawQuery(),
+                request.headers().getFirst(USER_HEADER));
+        Flight flight = new Flight(key);
+        Flight leading = inFlight.putIfAbsent(key, flight);
+        if (leading == null) {
+            meterRegistry.counter(REQUESTS_METRIC, "result", "leader").increment();
+            return next.exchange(request)
+                    .map(flight::complete)
+                    .doOnError(flight::fail)
+                    .doOnCancel(flight::abandon);
+        }
+        if (!leading.join()) {
+            return next.exchange(request);
+        }
+        meterRegistry.counter(REQUESTS_METRIC, "result", "joined").increment();
+        return leading.response().switchIfEmpty(Mono.defer(() -> next.exchange(request)));
+    }
+
+    @Value
+    private static class Key {
+        String path;
+        String query;
+        String userId;
+    }
+
+    private class Flight {
+        private final Key key;
+        private final Sinks.One<SharedResponse> shared = Sinks.one();
+        private int joiners;
+        private boolean closed;
+
+        private Flight(Key key) {
+            this.key = key;
+        }
+
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            joiners++;
+            return true;
+        }
+
+        Mono<ClientResponse> response() {
+            return shared.asMono().map(SharedResponse::toResponse);
+        }
+
+        ClientResponse complete(ClientResponse response) {
+            if (close() == 0) {
+                return response;
+            }
+            SharedResponse sharedResponse = SharedResponse.of(response);
+            shared.tryEmitValue(sharedResponse);
+            return sharedResponse.toResponse();
+        }
+
+        void fail(Throwable error) {
+            close();
+            shared.tryEmitError(error);
+        }
+
+        void abandon() {
+            close();
+            shared.tryEmitEmpty();
+        }
+
+        private int close() {
+            int joined;
+            synchronized (this) {
+                closed = true;
+                joined = joiners;
+            }
+            inFlight.remove(key, this);
+            return joined;
+        }
+    }
+
+    @Value
+    private static class SharedResponse {
+        int status;
+        HttpHeaders headers;
+        Flux<byte[]> body;
+        ExchangeStrategies strategies;
+
+        static SharedResponse of(ClientResponse response) {
+            Flux<byte[]> body = response.bodyToFlux(DataBuffer.class)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .cache();
+            body.subscribe(bytes -> {
+            }, error -> {
+            });
+            return new SharedResponse(response.rawStatusCode(), response.headers().asHttpHeaders(), body,
+                    response.strategies());
+        }
+
+        ClientResponse toResponse() {
+            return ClientResponse.create(status, strategies)
+                    .headers(responseHeaders -> responseHeaders.addAll(headers))
+                    .body(body.map(DefaultDataBufferFactory.sharedInstance::wrap))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package ru.practicum.shareit.client.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+    static final String REQUESTS_METRIC = "shareit.gateway.cache.requests";
+    static final String EVICTIONS_METRIC = "shareit.gateway.cache.evictions";
+    static final String ENTRIES_METRIC = "shareit.gateway.cache.entries";
+    static final String SIZE_METRIC = "shareit.gateway.cache.size";
+    private static final Set<String> CACHEABLE_ROUTES = Set.of("items", "users", "requests");
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/([a-z]+)/(\\d+)");
+    private static final Pattern MUTATED_PATH = Pattern.compile("/([a-z]+)(?:/(\\d+))?(?:/.*)?");
+    private static final Map<String, List<String>> DEPENDENT_ROUTES = Map.of(
+            "users", List.of("items", "requests"),
+            "items", List.of("requests"),
+            "bookings", List.of("items"));
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final ResponseCacheProperties responseCacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long generation;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder(ENTRIES_METRIC, this, ResponseCache::entryCount).register(meterRegistry);
+        Gauge.builder(SIZE_METRIC, this, ResponseCache::size).baseUnit("bytes").register(meterRegistry);
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (request.method() == HttpMethod.GET) {
+                return get(request, next);
+            }
+            return next.exchange(request).doOnNext(response -> {
+                if (response.statusCode().is2xxSuccessful()) {
+                    invalidate(request.url().getPath());
+                }
+            });
+        };
+    }
+
+    private Mono<ClientResponse> get(ClientRequest request, ExchangeFunction next) {
+        Matcher matcher = CACHEABLE_PATH.matcher(request.url().getPath());
+        if (!matcher.matches() || !CACHEABLE_ROUTES.contains(matcher.group(1))
+                || !responseCacheProperties.isRouteEnabled(matcher.group(1))) {
+            return next.exchange(request);
+        }
+        String route = matcher.group(1);
+        Key key = new Key(route, request.url().getPath(), request.url().getRawQuery(),
+                request.headers().getFirst(USER_HEADER));
+        Entry cached = lookup(key);
+        if (cached != null) {
+            meterRegistry.counter(REQUESTS_METRIC, "route", route, "result", "hit").increment();
+            return Mono.just(cached.toResponse());
+        }
+        meterRegistry.counter(REQUESTS_METRIC, "route", route, "result", "miss").increment();
+        long startGeneration = generation();
+        return next.exchange(request).flatMap(response -> {
+            if (response.statusCode() != HttpStatus.OK) {
+                return Mono.just(response);
+            }
+            MediaType contentType = response.headers().contentType().orElse(null);
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> {
+                        Entry entry = new Entry(contentType, body,
+                                System.nanoTime() + responseCacheProperties.getTtl().toNanos());
+                        put(key, entry, startGeneration);
+                        return entry.toResponse(response);
+                    });
+        });
+    }
+
+    private synchronized Entry lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            remove(key, "expired");
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void put(Key key, Entry entry, long startGeneration) {
+        long weight = weight(key, entry);
+        if (generation != startGeneration || weight > responseCacheProperties.getMaxSize().toBytes()) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            size -= weight(key, previous);
+        }
+        size += weight;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (size > responseCacheProperties.getMaxSize().toBytes()
+                || entries.size() > responseCacheProperties.getMaxEntries()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            size -= weight(evicted.getKey(), evicted.getValue());
+            meterRegistry.counter(EVICTIONS_METRIC, "cause", "size").increment();
+        }
+    }
+
+    private void invalidate(String path) {
+        Matcher matcher = MUTATED_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return;
+        }
+        String route = matcher.group(1);
+        String id = matcher.group(2);
+        List<String> dependentRoutes = DEPENDENT_ROUTES.getOrDefault(route, List.of());
+        String entryPath = "/" + route + "/" + id;
+        removeIf(key -> id != null && key.path.equals(entryPath) || dependentRoutes.contains(key.route));
+    }
+
+    private synchronized void removeIf(Predicate<Key> predicate) {
+        generation++;
+        for (Key key : List.copyOf(entries.keySet())) {
+            if (predicate.test(key)) {
+                remove(key, "invalidated");
+            }
+        }
+    }
+
+    private void remove(Key key, String cause) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= weight(key, removed);
+            meterRegistry.counter(EVICTIONS_METRIC, "cause", cause).increment();
+        }
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized long size() {
+        return size;
+    }
+
+    private static long weight(Key key, Entry entry) {
+        return ENTRY_OVERHEAD + key.path.length() + (key.query != null ? key.query.length() : 0) + entry.body.length;
+    }
+
+    @Value
+    private static class Key {
+        String route;
+        String path;
+        String query;
+        String userId;
+    }
+
+    @Value
+    private static class Entry {
+        MediaType contentType;
+        byte[] body;
+        long expiresAt;
+
+        ClientResponse toResponse() {
+            return withBody(ClientResponse.create(HttpStatus.OK));
+        }
+
+        ClientResponse toResponse(ClientResponse response) {
+            return withBody(response.mutate());
+        }
+
+        private ClientResponse withBody(ClientResponse.Builder builder) {
+            if (contentType != null) {
+                builder.headers(headers -> headers.setContentType(contentType));
+            }
+            return builder.body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+}
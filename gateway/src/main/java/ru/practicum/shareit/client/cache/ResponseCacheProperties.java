@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "shareit-server.cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(30);
+    private int maxEntries = 10000;
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+    private Map<String, Boolean> routes = new HashMap<>(Map.of("items", true, "users", true, "requests", true));
+
+    public boolean isRouteEnabled(String route) {
+        return enabled && routes.getOrDefault(route, false);
+    }
+}
@@ -2,11 +2,11 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import javax.validation.ConstraintViolationException;
 import java.util.List;
@@ -41,16 +41,16 @@ public class ErrorHandler {
         return new ValidationErrorResponse(violations);
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ExceptionHandler(WebExchangeBindException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
-    public ValidationErrorResponse onMethodArgumentNotValidException(
-            MethodArgumentNotValidException e
+    public ValidationErrorResponse onWebExchangeBindException(
+            WebExchangeBindException e
     ) {
         final List<Violation> violations = e.getBindingResult().getFieldErrors().stream()
                 .map(error -> new Violation(error.getDefaultMessage()))
                 .collect(Collectors.toList());
-        log.error("Error 400. MethodArgumentNotValid: {}", e.getMessage());
+        log.error("Error 400. WebExchangeBind: {}", e.getMessage());
         return new ValidationErrorResponse(violations);
     }
 
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.Marker;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
@@ -20,6 +22,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -30,17 +33,17 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItems(
+    public Mono<ResponseEntity<Object>> getItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
             @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size) {
-        ResponseEntity<Object> items = itemClient.getItems(userId, from, size);
-        log.info(String.format("Поступил запрос на получение всех вещей: %s", items));
-        return items;
+        return itemClient.getItems(userId, from, size)
+                .doOnNext(items -> log.info(String.format("Поступил запрос на получение всех вещей, статус ответа: %s",
+                        items.getStatusCodeValue())));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(
+    public Mono<ResponseEntity<Object>> getItemById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable long itemId) {
         log.info(String.format("Поступил запрос на получение вещи id %s", itemId));
@@ -48,8 +51,18 @@ public class ItemController {
     }
 
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info(String.format("Поступил запрос на получение занятости вещи id %s с %s по %s", itemId, from, to));
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> addItem(
+    public Mono<ResponseEntity<Object>> addItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Validated(Marker.OnCreate.class) @RequestBody ItemDto itemDto) {
         log.info(String.format("Поступил запрос от пользователя id %s на создание вещи: %s", userId, itemDto));
@@ -57,7 +70,7 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Validated(Marker.OnUpdate.class) @RequestBody ItemDto itemDto,
             @PathVariable long itemId) {
@@ -66,7 +79,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public Mono<ResponseEntity<Object>> searchItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String text,
             @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
@@ -76,7 +89,7 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @Valid @RequestBody CommentCreateDto commentCreateDto) {
@@ -2,12 +2,13 @@ package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 import java.util.Map;
@@ -15,27 +16,27 @@ import java.util.Map;
 @Service
 public class ItemRequestClient extends BaseClient {
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientProperties clientProperties) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/requests"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + "/requests"))
+                .build(), clientProperties);
     }
 
-    public ResponseEntity<Object> addItemRequest(Long userId, ItemRequestCreateDto itemRequestCreateDto) {
+    public Mono<ResponseEntity<Object>> addItemRequest(Long userId, ItemRequestCreateDto itemRequestCreateDto) {
         return post("", userId, itemRequestCreateDto);
     }
 
-    public ResponseEntity<Object> getItemRequestsByRequestorId(Long requestorId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByRequestorId(Long requestorId) {
         return get("", requestorId);
     }
 
-    public ResponseEntity<Object> getItemRequestsAll(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItemRequestsAll(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long userId, long requestorId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long userId, long requestorId) {
         return get("/" + requestorId, userId);
     }
 }
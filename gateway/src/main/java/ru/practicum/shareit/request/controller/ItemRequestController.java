@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
@@ -27,7 +28,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItemRequest(
+    public Mono<ResponseEntity<Object>> addItemRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody ItemRequestCreateDto itemRequestCreateDto) {
         log.info(String.format("Поступил запрос от пользователя id %s на создание запроса вещи: %s", userId, itemRequestCreateDto));
@@ -35,7 +36,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByRequestorId(
+    public Mono<ResponseEntity<Object>> getItemRequestsByRequestorId(
             @RequestHeader("X-Sharer-User-Id") Long requestorId) {
         log.info(String.format("Поступил запрос от пользователя id %s на получение запросов вещей", requestorId));
         return itemRequestClient.getItemRequestsByRequestorId(requestorId);
@@ -43,7 +44,7 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     @Validated
-    public ResponseEntity<Object> getItemRequestsAll(
+    public Mono<ResponseEntity<Object>> getItemRequestsAll(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
             @RequestParam(required = false, defaultValue = "50") @Min(1) Integer size) {
@@ -52,7 +53,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(
+    public Mono<ResponseEntity<Object>> getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable long requestId) {
         log.info(String.format("Поступил запрос от пользователя id %s на получение запроса вещи id %s", userId, requestId));
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.Marker;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -27,14 +28,14 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
-        ResponseEntity<Object> users = userClient.getUsers();
-        log.info(String.format("Поступил запрос на получение всех пользователей: %s", users));
-        return users;
+    public Mono<ResponseEntity<Object>> getUsers() {
+        return userClient.getUsers()
+                .doOnNext(users -> log.info(String.format("Поступил запрос на получение всех пользователей, статус ответа: %s",
+                        users.getStatusCodeValue())));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUsersById(
+    public Mono<ResponseEntity<Object>> getUsersById(
             @PathVariable long userId) {
         log.info(String.format("Поступил запрос на получение пользователя id %s", userId));
         return userClient.getUserById(userId);
@@ -42,14 +43,14 @@ public class UserController {
 
     @PostMapping
     @Validated(Marker.OnCreate.class)
-    public ResponseEntity<Object> addUser(
+    public Mono<ResponseEntity<Object>> addUser(
             @Valid @RequestBody UserDto userDto) {
         log.info(String.format("Поступил запрос на создание пользователя: %s", userDto));
         return userClient.addUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @PathVariable long userId,
             @Valid @RequestBody UserDto userDto) {
         log.info(String.format("Поступил запрос на обновление пользователя id %s: %s", userId, userDto));
@@ -57,9 +58,9 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUser(
+    public Mono<ResponseEntity<Object>> deleteUser(
             @PathVariable long userId) {
         log.info(String.format("Поступил запрос на удаление пользователя id %s", userId));
-        userClient.deleteUser(userId);
+        return userClient.deleteUser(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.client.ClientProperties;
+import ru.practicum.shareit.client.RawResponseBodyWriter;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Disabled
+class BookingPassthroughBenchmarkTest {
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int ITERATIONS = 1000;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static DisposableServer server;
+    private static byte[] page;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        page = objectMapper.writeValueAsBytes(bookingsPage());
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/bookings", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(page))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Сквозная передача страницы из 50 бронирований выделяет меньше памяти, чем разбор в Object")
+    void comparePassthroughWithObjectRoundTrip() throws Exception {
+        WebTestClient objectClient = gateway(false);
+        WebTestClient passthroughClient = gateway(true);
+
+        assertEquals(objectMapper.readTree(page), objectMapper.readTree(fetch(objectClient)));
+        assertEquals(objectMapper.readTree(page), objectMapper.readTree(fetch(passthroughClient)));
+
+        run(objectClient, WARMUP_ITERATIONS);
+        run(passthroughClient, WARMUP_ITERATIONS);
+        Result object = run(objectClient, ITERATIONS);
+        Result passthrough = run(passthroughClient, ITERATIONS);
+
+        String report = String.format("object: %.1f us/op, %d B/op; passthrough: %.1f us/op, %d B/op",
+                object.micros, object.bytes, passthrough.micros, passthrough.bytes);
+        assertTrue(object.bytes - passthrough.bytes > page.length,
+                () -> "Сквозная передача должна экономить на каждом запросе больше размера страницы: " + report);
+    }
+
+    private static WebTestClient gateway(boolean passthrough) {
+        ClientProperties clientProperties = new ClientProperties();
+        clientProperties.setPassthrough(passthrough);
+        BookingClient bookingClient = new BookingClient("http://localhost:" + server.port(), WebClient.builder(),
+                clientProperties);
+        return WebTestClient.bindToController(new BookingController(bookingClient))
+                .httpMessageCodecs(configurer -> configurer.customCodecs().register(new RawResponseBodyWriter()))
+                .build();
+    }
+
+    private static byte[] fetch(WebTestClient client) {
+        return client.get()
+                .uri("/bookings?size={size}", PAGE_SIZE)
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static Result run(WebTestClient client, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            fetch(client);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+        return new Result(elapsed / 1000.0 / iterations, allocated / iterations);
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads) {
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+
+    private static List<Map<String, Object>> bookingsPage() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            bookings.add(Map.of(
+                    "id", id,
+                    "start", start.plusDays(id).toString(),
+                    "end", start.plusDays(id + 1).toString(),
+                    "item", Map.of("id", id, "name", "Дрель " + id),
+                    "booker", Map.of("id", 1L, "name", "Пользователь"),
+                    "status", "APPROVED"));
+        }
+        return bookings;
+    }
+
+    private static class Result {
+        private final double micros;
+        private final long bytes;
+
+        private Result(double micros, long bytes) {
+            this.micros = micros;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Disabled
+class ClientConfigTest {
+    private static final Set<String> remoteAddresses = ConcurrentHashMap.newKeySet();
+    private static volatile CountDownLatch slowRequestReceived = new CountDownLatch(1);
+    private static final DisposableServer server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/fast", (request, response) -> {
+                        remoteAddresses.add(String.valueOf(request.remoteAddress()));
+                        return response.sendString(Mono.just("fast"));
+                    })
+                    .get("/slow", (request, response) -> {
+                        remoteAddresses.add(String.valueOf(request.remoteAddress()));
+                        slowRequestReceived.countDown();
+                        return response.sendString(Mono.delay(Duration.ofMillis(800)).thenReturn("slow"));
+                    }))
+            .bindNow();
+    private final ClientConfig clientConfig = new ClientConfig();
+    private final ClientProperties clientProperties = new ClientProperties();
+    private MeterRegistry meterRegistry;
+    private ClientConnectionMetrics clientConnectionMetrics;
+    private ConnectionProvider connectionProvider;
+    private ReactorResourceFactory reactorResourceFactory;
+
+    @AfterAll
+    static void tearDownServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        remoteAddresses.clear();
+        slowRequestReceived = new CountDownLatch(1);
+        meterRegistry = new SimpleMeterRegistry();
+        clientConnectionMetrics = new ClientConnectionMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (reactorResourceFactory != null) {
+            reactorResourceFactory.destroy();
+            connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    @DisplayName("Таймауты подключения и чтения и keep-alive задаются из настроек клиента")
+    void httpClientOptionsComeFromProperties() {
+        clientProperties.setConnectTimeout(Duration.ofMillis(1500));
+        clientProperties.setReadTimeout(Duration.ofSeconds(7));
+
+        ReactorNettyHttpClientMapper mapper = clientConfig.pooledHttpClientMapper(clientProperties, clientConnectionMetrics);
+        HttpClient httpClient = mapper.configure(HttpClient.create());
+
+        assertEquals(1500, httpClient.configuration().options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+        assertEquals(true, httpClient.configuration().options().get(ChannelOption.SO_KEEPALIVE));
+        assertEquals(Duration.ofSeconds(7), httpClient.configuration().responseTimeout());
+    }
+
+    @Test
+    @DisplayName("Последовательные запросы переиспользуют одно соединение из пула")
+    void sequentialRequestsReuseConnection() throws InterruptedException {
+        WebClient client = client();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("fast", client.get().uri("/fast").retrieve().bodyToMono(String.class).block());
+            awaitIdleConnection();
+        }
+
+        assertEquals(1, remoteAddresses.size());
+        assertEquals(1, meterRegistry.counter(ClientConnectionMetrics.CONNECTIONS_OPENED_METRIC).count());
+        assertEquals(3, acquireTimer("success").count());
+    }
+
+    @Test
+    @DisplayName("Запрос без ответа дольше таймаута чтения завершается ошибкой")
+    void slowResponseFailsByReadTimeout() {
+        clientProperties.setReadTimeout(Duration.ofMillis(200));
+        WebClient client = client();
+
+        WebClientRequestException exception = assertThrows(WebClientRequestException.class,
+                () -> client.get().uri("/slow").retrieve().bodyToMono(String.class).block());
+
+        assertInstanceOf(ReadTimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("При исчерпании пула запрос ждет соединение не дольше таймаута ожидания, занятость видна в метриках")
+    void exhaustedPoolFailsAfterPendingAcquireTimeout() throws Exception {
+        clientProperties.setMaxConnections(1);
+        clientProperties.setPendingAcquireTimeout(Duration.ofMillis(200));
+        WebClient client = client();
+
+        CompletableFuture<String> slow = client.get().uri("/slow").retrieve().bodyToMono(String.class).toFuture();
+        assertTrue(slowRequestReceived.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, poolGauge("active"));
+        assertEquals(1, poolGauge("utilization"));
+        WebClientRequestException exception = assertThrows(WebClientRequestException.class,
+                () -> client.get().uri("/fast").retrieve().bodyToMono(String.class).block());
+        assertInstanceOf(PoolAcquireTimeoutException.class, exception.getCause());
+        assertEquals(1, acquireTimer("error").count());
+        assertTrue(acquireTimer("error").totalTime(TimeUnit.MILLISECONDS) >= 200);
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Простаивающие соединения закрываются фоновым вытеснением")
+    void idleConnectionsAreEvicted() throws InterruptedException {
+        clientProperties.setMaxIdleTime(Duration.ofMillis(100));
+        clientProperties.setEvictionInterval(Duration.ofMillis(50));
+        WebClient client = client();
+
+        client.get().uri("/fast").retrieve().bodyToMono(String.class).block();
+        Thread.sleep(500);
+
+        assertEquals(1, meterRegistry.counter(ClientConnectionMetrics.CONNECTIONS_CLOSED_METRIC).count());
+        assertEquals(0, poolGauge("idle"));
+    }
+
+    private WebClient client() {
+        connectionProvider = clientConfig.connectionProvider(clientProperties, clientConnectionMetrics);
+        reactorResourceFactory = clientConfig.reactorResourceFactory(clientProperties, connectionProvider);
+        reactorResourceFactory.afterPropertiesSet();
+        ReactorNettyHttpClientMapper mapper = clientConfig.pooledHttpClientMapper(clientProperties, clientConnectionMetrics);
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(reactorResourceFactory, mapper::configure))
+                .baseUrl("http://localhost:" + server.port())
+                .build();
+    }
+
+    private void awaitIdleConnection() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poolGauge("idle") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Timer acquireTimer(String outcome) {
+        return meterRegistry.get(ClientConnectionMetrics.ACQUIRE_METRIC).tag("outcome", outcome).timer();
+    }
+
+    private double poolGauge(String name) {
+        return meterRegistry.get(ClientConnectionMetrics.POOL_METRIC_PREFIX + name)
+                .tags(Tags.of("pool", "shareit-server"))
+                .gauge()
+                .value();
+    }
+}
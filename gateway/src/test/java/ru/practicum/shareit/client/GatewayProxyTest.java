@@ -0,0 +1,190 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class GatewayProxyTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicReference<BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>>> handler =
+            new AtomicReference<>();
+    private static final AtomicReference<HttpServerRequest> lastRequest = new AtomicReference<>();
+    private static final DisposableServer server = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> {
+                lastRequest.set(request);
+                return handler.get().apply(request, response);
+            })
+            .bindNow();
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @BeforeEach
+    void setUp() {
+        lastRequest.set(null);
+    }
+
+    @Test
+    @DisplayName("Статус, тело и заголовки успешного ответа сервера передаются клиенту")
+    void successfulResponseIsPassedThrough() throws Exception {
+        String body = "[{\"id\":1,\"status\":\"WAITING\"},{\"id\":2,\"status\":\"APPROVED\"}]";
+        respond(HttpStatus.OK, body, Map.of("X-Next-Cursor", "2030-01-01T10:00:00_2", "Keep-Alive", "timeout=5"));
+
+        byte[] response = webTestClient.get()
+                .uri("/bookings?state=ALL&size=2&cursor=2030-01-02T10:00:00_3")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals("X-Next-Cursor", "2030-01-01T10:00:00_2")
+                .expectHeader().doesNotExist("Keep-Alive")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(objectMapper.readTree(body), objectMapper.readTree(response));
+        assertEquals("1", lastRequest.get().requestHeaders().get("X-Sharer-User-Id"));
+        QueryStringDecoder query = new QueryStringDecoder(lastRequest.get().uri());
+        assertEquals("/bookings", query.path());
+        assertEquals(List.of("2030-01-02T10:00:00_3"), query.parameters().get("cursor"));
+    }
+
+    @Test
+    @DisplayName("Статус, тело и заголовки ответа сервера с ошибкой передаются клиенту без изменений")
+    void errorResponseIsPassedThrough() {
+        String body = "{\"error\":\"Вещь id 1 недоступна для бронирования\"}";
+        respond(HttpStatus.CONFLICT, body, Map.of("X-Request-Id", "42"));
+
+        webTestClient.post()
+                .uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemId\":1,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals("X-Request-Id", "42")
+                .expectBody(String.class).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Ответ сервера без тела передается клиенту со статусом сервера")
+    void emptyResponseIsPassedThrough() {
+        handler.set((request, response) -> response.status(HttpStatus.NO_CONTENT.value()).send());
+
+        webTestClient.delete()
+                .uri("/users/1")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ответы сервера больше буфера кодеков по умолчанию передаются без ошибок")
+    void largeResponseIsPassedThrough() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            items.add(Map.of("id", id, "name", "Дрель " + id, "description", "Аккумуляторная дрель-шуруповерт " + id,
+                    "available", true));
+        }
+        String body = objectMapper.writeValueAsString(items);
+        respond(HttpStatus.OK, body, Map.of());
+
+        byte[] response = webTestClient.get()
+                .uri("/items?from=0&size=5000")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(objectMapper.readTree(body), objectMapper.readTree(response));
+    }
+
+    @Test
+    @DisplayName("Одновременные одинаковые GET-запросы получают полный ответ одного запроса к серверу")
+    void concurrentIdenticalRequestsShareOneServerCall() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            items.add(Map.of("id", id, "name", "Дрель " + id, "available", true));
+        }
+        String body = objectMapper.writeValueAsString(items);
+        AtomicInteger calls = new AtomicInteger();
+        handler.set((request, response) -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(300))
+                    .then(response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .sendString(Mono.just(body), StandardCharsets.UTF_8)
+                            .then());
+        });
+
+        WebClient gateway = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
+                .build();
+        List<Mono<byte[]>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(gateway.get()
+                    .uri("/items/search?text=drill&from=0&size=2000")
+                    .header("X-Sharer-User-Id", "1")
+                    .retrieve()
+                    .bodyToMono(byte[].class));
+        }
+        List<byte[]> bodies = Flux.merge(responses).collectList().block(Duration.ofSeconds(10));
+
+        assertEquals(10, bodies.size());
+        for (byte[] response : bodies) {
+            assertEquals(objectMapper.readTree(body), objectMapper.readTree(response));
+        }
+        assertTrue(calls.get() < 10);
+    }
+
+    private static void respond(HttpStatus status, String body, Map<String, String> headers) {
+        handler.set((request, response) -> {
+            response.status(status.value()).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            headers.forEach(response::header);
+            return request.receive().then(response.sendString(Mono.just(body), StandardCharsets.UTF_8).then());
+        });
+    }
+}
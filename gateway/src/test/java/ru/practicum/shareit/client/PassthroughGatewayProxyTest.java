@@ -0,0 +1,9 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Disabled;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "shareit-server.client.passthrough=true")
+@Disabled
+class PassthroughGatewayProxyTest extends GatewayProxyTest {
+}
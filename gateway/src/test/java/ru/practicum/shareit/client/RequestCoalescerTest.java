@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Disabled
+class RequestCoalescerTest {
+    private final List<Sinks.One<ClientResponse>> upstream = new CopyOnWriteArrayList<>();
+    private final ExchangeFunction next = request -> {
+        Sinks.One<ClientResponse> response = Sinks.one();
+        upstream.add(response);
+        return response.asMono();
+    };
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+    private ExchangeFilterFunction filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(new ClientProperties(), meterRegistry);
+        filter = requestCoalescer.filter();
+    }
+
+    @Test
+    @DisplayName("Одинаковые одновременные GET-запросы получают ответ одного запроса к серверу")
+    void identicalRequestsShareOneUpstreamCall() throws Exception {
+        CompletableFuture<String> leader = body(filter.filter(get("/items/1", "1"), next));
+        CompletableFuture<String> joiner = body(filter.filter(get("/items/1", "1"), next));
+
+        assertEquals(1, upstream.size());
+        upstream.get(0).tryEmitValue(response(HttpStatus.OK, "{\"id\":1}"));
+
+        assertEquals("{\"id\":1}", leader.get(1, TimeUnit.SECONDS));
+        assertEquals("{\"id\":1}", joiner.get(1, TimeUnit.SECONDS));
+        assertEquals(1, count("leader"));
+        assertEquals(1, count("joined"));
+        assertEquals(0, requestCoalescer.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Без присоединившихся запросов ответ сервера передается инициатору без буферизации")
+    void leaderWithoutJoinersGetsUpstreamResponse() throws Exception {
+        CompletableFuture<ClientResponse> leader = filter.filter(get("/items/1", "1"), next).toFuture();
+        ClientResponse response = response(HttpStatus.OK, "{\"id\":1}");
+
+        upstream.get(0).tryEmitValue(response);
+
+        assertSame(response, leader.get(1, TimeUnit.SECONDS));
+        assertEquals(0, requestCoalescer.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Запросы разных пользователей и с разными параметрами не объединяются")
+    void differentRequestsAreNotCoalesced() {
+        body(filter.filter(get("/items/1", "1"), next));
+        body(filter.filter(get("/items/1", "2"), next));
+        body(filter.filter(get("/items/search?text=drill", "1"), next));
+        body(filter.filter(get("/items/search?text=saw", "1"), next));
+
+        assertEquals(4, upstream.size());
+        assertEquals(0, count("joined"));
+    }
+
+    @Test
+    @DisplayName("Статус и заголовки ответа с ошибкой передаются всем объединенным запросам")
+    void errorStatusIsSharedWithJoiners() throws Exception {
+        CompletableFuture<ClientResponse> leader = filter.filter(get("/items/1", "1"), next).toFuture();
+        CompletableFuture<ClientResponse> joiner = filter.filter(get("/items/1", "1"), next).toFuture();
+
+        upstream.get(0).tryEmitValue(response(HttpStatus.NOT_FOUND, "{\"error\":\"Вещь id 1 не найдена\"}"));
+
+        for (ClientResponse response : List.of(leader.get(1, TimeUnit.SECONDS), joiner.get(1, TimeUnit.SECONDS))) {
+            assertEquals(HttpStatus.NOT_FOUND, response.statusCode());
+            assertEquals(MediaType.APPLICATION_JSON, response.headers().contentType().orElseThrow());
+            assertEquals("{\"error\":\"Вещь id 1 не найдена\"}", response.bodyToMono(String.class).block());
+        }
+    }
+
+    @Test
+    @DisplayName("Ошибка запроса к серверу передается всем объединенным запросам, следующий запрос идет на сервер")
+    void upstreamErrorIsSharedWithJoiners() {
+        CompletableFuture<String> leader = body(filter.filter(get("/items/1", "1"), next));
+        CompletableFuture<String> joiner = body(filter.filter(get("/items/1", "1"), next));
+
+        upstream.get(0).tryEmitError(new IllegalStateException("Connection refused"));
+
+        assertThrows(ExecutionException.class, () -> leader.get(1, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> joiner.get(1, TimeUnit.SECONDS));
+        assertEquals(0, requestCoalescer.inFlightCount());
+
+        body(filter.filter(get("/items/1", "1"), next));
+        assertEquals(2, upstream.size());
+    }
+
+    @Test
+    @DisplayName("При отмене запроса-инициатора присоединившиеся запросы отправляются на сервер сами")
+    void joinersFallBackWhenLeaderIsCancelled() throws Exception {
+        Disposable leader = filter.filter(get("/items/1", "1"), next).subscribe();
+        CompletableFuture<String> joiner = body(filter.filter(get("/items/1", "1"), next));
+
+        leader.dispose();
+
+        assertEquals(2, upstream.size());
+        assertEquals(0, requestCoalescer.inFlightCount());
+        upstream.get(1).tryEmitValue(response(HttpStatus.OK, "{\"id\":1}"));
+        assertEquals("{\"id\":1}", joiner.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Запрос после завершения предыдущего отправляется на сервер заново")
+    void completedFlightIsNotReused() throws Exception {
+        CompletableFuture<String> first = body(filter.filter(get("/items/1", "1"), next));
+        upstream.get(0).tryEmitValue(response(HttpStatus.OK, "{\"id\":1}"));
+        first.get(1, TimeUnit.SECONDS);
+
+        body(filter.filter(get("/items/1", "1"), next));
+
+        assertEquals(2, upstream.size());
+    }
+
+    @Test
+    @DisplayName("Изменяющие запросы не объединяются")
+    void mutationsAreNotCoalesced() {
+        ClientRequest patch = ClientRequest.create(HttpMethod.PATCH, URI.create("http://localhost/items/1")).build();
+
+        filter.filter(patch, next).subscribe();
+        filter.filter(patch, next).subscribe();
+
+        assertEquals(2, upstream.size());
+        assertEquals(0, requestCoalescer.inFlightCount());
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter(RequestCoalescer.REQUESTS_METRIC, "result", result).count();
+    }
+
+    private static CompletableFuture<String> body(Mono<ClientResponse> response) {
+        return response.flatMap(clientResponse -> clientResponse.bodyToMono(String.class)).toFuture();
+    }
+
+    private static ClientRequest get(String path, String userId) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost" + path))
+                .header("X-Sharer-User-Id", userId)
+                .build();
+    }
+
+    private static ClientResponse response(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
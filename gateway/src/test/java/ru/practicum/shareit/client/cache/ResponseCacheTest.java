@@ -0,0 +1,261 @@
+package ru.practicum.shareit.client.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Disabled
+class ResponseCacheTest {
+    private final List<String> upstream = new ArrayList<>();
+    private final ExchangeFunction next = request -> {
+        upstream.add(request.method() + " " + request.url().getPath());
+        HttpStatus status = request.url().getPath().endsWith("/404") ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+        return Mono.just(response(status, "{\"path\":\"" + request.url().getPath() + "\"}"));
+    };
+    private MeterRegistry meterRegistry;
+    private ResponseCacheProperties responseCacheProperties;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheProperties = new ResponseCacheProperties();
+        responseCache = new ResponseCache(responseCacheProperties, meterRegistry);
+        responseCache.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("Повторный запрос отдается из кэша с тем же телом и типом содержимого")
+    void repeatedRequestIsServedFromCache() {
+        assertEquals("{\"path\":\"/items/1\"}", get("/items/1", "1"));
+        ClientResponse cached = exchange(request(HttpMethod.GET, "/items/1", "1"));
+
+        assertEquals(HttpStatus.OK, cached.statusCode());
+        assertEquals(MediaType.APPLICATION_JSON, cached.headers().contentType().orElseThrow());
+        assertEquals("{\"path\":\"/items/1\"}", cached.bodyToMono(String.class).block());
+        assertEquals(List.of("GET /items/1"), upstream);
+        assertEquals(1, count("items", "miss"));
+        assertEquals(1, count("items", "hit"));
+        assertEquals(1, meterRegistry.get(ResponseCache.ENTRIES_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Ответы разным пользователям и на разные параметры кэшируются отдельно")
+    void keyIncludesUserAndQuery() {
+        get("/items/1", "1");
+        get("/items/1", "2");
+        get("/items/1?from=0", "1");
+        get("/items/1", "1");
+
+        assertEquals(3, upstream.size());
+    }
+
+    @Test
+    @DisplayName("Кэшируются только успешные ответы на запросы одного ресурса")
+    void onlySuccessfulSingleResourceResponsesAreCached() {
+        get("/items/404", "1");
+        get("/items/404", "1");
+        get("/items", "1");
+        get("/items", "1");
+        get("/items/search?text=drill", "1");
+        get("/items/search?text=drill", "1");
+
+        assertEquals(6, upstream.size());
+        assertEquals(0, meterRegistry.get(ResponseCache.ENTRIES_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Запись удаляется из кэша по истечении времени жизни")
+    void entryExpiresAfterTtl() throws InterruptedException {
+        responseCacheProperties.setTtl(Duration.ofMillis(100));
+
+        get("/users/1", null);
+        Thread.sleep(200);
+        get("/users/1", null);
+
+        assertEquals(2, upstream.size());
+        assertEquals(1, evictions("expired"));
+    }
+
+    @Test
+    @DisplayName("При превышении числа записей вытесняется давно не использованная запись")
+    void leastRecentlyUsedEntryIsEvictedByCount() {
+        responseCacheProperties.setMaxEntries(2);
+
+        get("/items/1", "1");
+        get("/items/2", "1");
+        get("/items/1", "1");
+        get("/items/3", "1");
+        upstream.clear();
+        get("/items/1", "1");
+        get("/items/2", "1");
+
+        assertEquals(List.of("GET /items/2"), upstream);
+        assertEquals(2, evictions("size"));
+    }
+
+    @Test
+    @DisplayName("Размер кэша ограничен суммарным объемом записей, слишком большие ответы не кэшируются")
+    void cacheIsBoundedBySize() {
+        responseCacheProperties.setMaxSize(DataSize.ofBytes(350));
+
+        get("/items/1", "1");
+        get("/items/2", "1");
+        get("/items/3", "1");
+
+        assertEquals(2, meterRegistry.get(ResponseCache.ENTRIES_METRIC).gauge().value());
+        double size = meterRegistry.get(ResponseCache.SIZE_METRIC).gauge().value();
+        assertTrue(size > 0 && size <= 350);
+
+        responseCacheProperties.setMaxSize(DataSize.ofBytes(100));
+        get("/items/4", "1");
+        get("/items/4", "1");
+
+        assertEquals(List.of("GET /items/4", "GET /items/4"), upstream.subList(3, 5));
+    }
+
+    @Test
+    @DisplayName("Кэш отключается для отдельного маршрута и целиком")
+    void cacheCanBeDisabledPerRoute() {
+        responseCacheProperties.getRoutes().put("users", false);
+
+        get("/users/1", null);
+        get("/users/1", null);
+        get("/items/1", "1");
+        get("/items/1", "1");
+        assertEquals(3, upstream.size());
+
+        responseCacheProperties.setEnabled(false);
+        get("/items/1", "1");
+        assertEquals(4, upstream.size());
+    }
+
+    @Test
+    @DisplayName("Бронирования не кэшируются, даже если маршрут включен")
+    void bookingsAreNeverCached() {
+        responseCacheProperties.getRoutes().put("bookings", true);
+
+        get("/bookings/1", "1");
+        get("/bookings/1", "1");
+
+        assertEquals(2, upstream.size());
+    }
+
+    @Test
+    @DisplayName("Успешное изменение сбрасывает запись ресурса и зависящие от него маршруты")
+    void mutationInvalidatesResourceAndDependentRoutes() {
+        get("/users/1", null);
+        get("/users/2", null);
+        get("/items/1", "1");
+        get("/requests/1", "1");
+
+        exchange(request(HttpMethod.PATCH, "/users/1", null));
+        upstream.clear();
+        get("/users/1", null);
+        get("/users/2", null);
+        get("/items/1", "1");
+        get("/requests/1", "1");
+
+        assertEquals(List.of("GET /users/1", "GET /items/1", "GET /requests/1"), upstream);
+        assertEquals(3, evictions("invalidated"));
+    }
+
+    @Test
+    @DisplayName("Создание бронирования сбрасывает вещи, но не пользователей и запросы")
+    void bookingInvalidatesItemsOnly() {
+        get("/users/1", null);
+        get("/items/1", "1");
+        get("/requests/1", "1");
+
+        exchange(request(HttpMethod.POST, "/bookings", "2"));
+        upstream.clear();
+        get("/users/1", null);
+        get("/items/1", "1");
+        get("/requests/1", "1");
+
+        assertEquals(List.of("GET /items/1"), upstream);
+    }
+
+    @Test
+    @DisplayName("Изменение, завершившееся ошибкой, не сбрасывает кэш")
+    void failedMutationKeepsEntries() {
+        get("/items/1", "1");
+
+        exchange(request(HttpMethod.PATCH, "/items/404", "1"));
+        upstream.clear();
+        get("/items/1", "1");
+
+        assertEquals(List.of(), upstream);
+    }
+
+    @Test
+    @DisplayName("Ответ на запрос, начатый до изменения, не сохраняется в кэш")
+    void responseStartedBeforeInvalidationIsNotStored() throws Exception {
+        Sinks.One<ClientResponse> slowResponse = Sinks.one();
+        CompletableFuture<String> staleRead = responseCache.filter()
+                .filter(request(HttpMethod.GET, "/items/1", "1"), request -> slowResponse.asMono())
+                .flatMap(response -> response.bodyToMono(String.class))
+                .toFuture();
+
+        exchange(request(HttpMethod.PATCH, "/items/1", "1"));
+        slowResponse.tryEmitValue(response(HttpStatus.OK, "{\"name\":\"old\"}"));
+
+        assertEquals("{\"name\":\"old\"}", staleRead.get(1, TimeUnit.SECONDS));
+        assertEquals("{\"path\":\"/items/1\"}", get("/items/1", "1"));
+        assertEquals(0, count("items", "hit"));
+    }
+
+    private String get(String path, String userId) {
+        return exchange(request(HttpMethod.GET, path, userId)).bodyToMono(String.class).block();
+    }
+
+    private ClientResponse exchange(ClientRequest request) {
+        return responseCache.filter().filter(request, next).block();
+    }
+
+    private double count(String route, String result) {
+        return meterRegistry.counter(ResponseCache.REQUESTS_METRIC, "route", route, "result", result).count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.counter(ResponseCache.EVICTIONS_METRIC, "cause", cause).count();
+    }
+
+    private static ClientRequest request(HttpMethod method, String path, String userId) {
+        ClientRequest.Builder builder = ClientRequest.create(method, URI.create("http://localhost" + path));
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", userId);
+        }
+        return builder.build();
+    }
+
+    private static ClientResponse response(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,7 +15,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -24,6 +29,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @PostMapping
@@ -41,6 +47,13 @@ public class BookingController {
         return bookingService.approvedOrRejectedBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/owner/batch")
+    public List<BookingDecisionResultDto> approvedOrRejectedBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.approvedOrRejectedBookings(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingFullDto getBookingById(
             @RequestHeader("X-Sharer-User-Id") long userId,
@@ -49,22 +62,56 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingFullDto> getBookingsByBookerId(
+    public ResponseEntity<List<BookingFullDto>> getBookingsByBookerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") Integer from,
-            @RequestParam(required = false, defaultValue = "50") Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        return bookingService.getBookingsByBookerId(userId, state, pageable);
+            @RequestParam(required = false, defaultValue = "50") Integer size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingFullDto> bookings;
+        if (cursor != null) {
+            bookings = bookingService.getBookingsByBookerId(userId, state, BookingCursor.decode(cursor), size);
+        } else {
+            Pageable pageable = PageRequest.of(from / size, size);
+            bookings = bookingService.getBookingsByBookerId(userId, state, pageable);
+        }
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingFullDto> getAllBookingsForItemsByOwnerId(
+    public ResponseEntity<List<BookingFullDto>> getAllBookingsForItemsByOwnerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") Integer from,
-            @RequestParam(required = false, defaultValue = "50") Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        return bookingService.getAllBookingsForItemsByOwnerId(userId, state, pageable);
+            @RequestParam(required = false, defaultValue = "50") Integer size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingFullDto> bookings;
+        if (cursor != null) {
+            bookings = bookingService.getAllBookingsForItemsByOwnerId(userId, state, BookingCursor.decode(cursor), size);
+        } else {
+            Pageable pageable = PageRequest.of(from / size, size);
+            bookings = bookingService.getAllBookingsForItemsByOwnerId(userId, state, pageable);
+        }
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getBookingSummaryByBookerId(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.getBookingSummaryByBookerId(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getBookingSummaryForItemsByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.getBookingSummaryForItemsByOwnerId(userId);
+    }
+
+    private ResponseEntity<List<BookingFullDto>> withNextCursor(List<BookingFullDto> bookings, int size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingCursor nextCursor = BookingCursor.of(bookings.get(bookings.size() - 1));
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor.encode())
+                .body(bookings);
     }
 }
\ No newline at end of file
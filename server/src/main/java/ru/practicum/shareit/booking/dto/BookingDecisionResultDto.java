@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.StatusBooking;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private Result result;
+    private StatusBooking status;
+
+    public enum Result {
+        UPDATED,
+        NOT_WAITING,
+        NOT_FOUND,
+        CONFLICT
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.expiry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "shareit.booking.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpiryConfig {
+}
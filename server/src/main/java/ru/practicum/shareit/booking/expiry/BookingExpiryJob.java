@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "shareit.booking.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExpiryJob {
+    static final String PROCESSED_METRIC = "shareit.booking.expiry.processed";
+    static final String BATCHES_METRIC = "shareit.booking.expiry.batches";
+
+    private final BookingService bookingService;
+    private final BookingExpiryProperties bookingExpiryProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Scheduled(fixedDelayString = "#{@bookingExpiryProperties.interval.toMillis()}",
+            initialDelayString = "#{@bookingExpiryProperties.interval.toMillis()}")
+    public void expireWaitingBookings() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        int batchSize = bookingExpiryProperties.getBatchSize();
+        long lastId = 0;
+        int processed = 0;
+        int batches = 0;
+        List<Long> bookingIds;
+        do {
+            bookingIds = bookingService.expireWaitingBookings(currentTime, lastId, batchSize);
+            if (!bookingIds.isEmpty()) {
+                lastId = bookingIds.get(bookingIds.size() - 1);
+                processed += bookingIds.size();
+                batches++;
+            }
+        } while (bookingIds.size() == batchSize);
+        if (processed > 0) {
+            log.info(String.format("Отменено просроченных бронирований в ожидании: %s, пакетов: %s", processed, batches));
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder(PROCESSED_METRIC)
+                    .description("Количество просроченных бронирований, отмененных за один запуск")
+                    .register(registry)
+                    .record(processed);
+            DistributionSummary.builder(BATCHES_METRIC)
+                    .description("Количество пакетов, обработанных за один запуск")
+                    .register(registry)
+                    .record(batches);
+        }
+    }
+}
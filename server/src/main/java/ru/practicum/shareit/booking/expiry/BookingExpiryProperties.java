@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.expiry")
+@Getter
+@Setter
+public class BookingExpiryProperties {
+    private boolean enabled = true;
+    private int batchSize = 500;
+    private Duration interval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+    private final AtomicLong reservations = new AtomicLong();
+
+    public Optional<Booking> addIfFree(long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> saver) {
+        ItemIntervals intervals = intervals(itemId);
+        long reservationId = reservations.decrementAndGet();
+        synchronized (intervals) {
+            LocalDateTime currentTime = LocalDateTime.now();
+            intervals.approved.removeEndedBefore(currentTime);
+            intervals.waiting.removeEndedBefore(currentTime);
+            if (intervals.approved.overlaps(start, end) || intervals.waiting.overlaps(start, end)) {
+                return Optional.empty();
+            }
+            intervals.waiting.add(reservationId, start, end);
+        }
+        Booking booking;
+        try {
+            booking = saver.get();
+        } catch (RuntimeException e) {
+            synchronized (intervals) {
+                intervals.waiting.remove(reservationId, start);
+            }
+            throw e;
+        }
+        evictOnRollback(itemId);
+        synchronized (intervals) {
+            intervals.waiting.remove(reservationId, start);
+            intervals.waiting.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+        return Optional.of(booking);
+    }
+
+    public void approve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals == null) {
+            return;
+        }
+        synchronized (intervals) {
+            evictOnRollback(itemId);
+            intervals.waiting.remove(booking.getId(), booking.getStart());
+            intervals.approved.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+    }
+
+    public void reject(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals == null) {
+            return;
+        }
+        synchronized (intervals) {
+            evictOnRollback(itemId);
+            intervals.waiting.remove(booking.getId(), booking.getStart());
+            intervals.approved.remove(booking.getId(), booking.getStart());
+        }
+    }
+
+    public void evict(long itemId) {
+        items.remove(itemId);
+    }
+
+    private ItemIntervals intervals(long itemId) {
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        ItemIntervals loaded = load(itemId);
+        ItemIntervals existing = items.putIfAbsent(itemId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private ItemIntervals load(long itemId) {
+        ItemIntervals intervals = new ItemIntervals();
+        List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusInAndEndAfter(
+                itemId, List.of(StatusBooking.APPROVED, StatusBooking.WAITING), LocalDateTime.now());
+        for (Booking booking : bookings) {
+            IntervalSet set = booking.getStatus() == StatusBooking.APPROVED ? intervals.approved : intervals.waiting;
+            set.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+        return intervals;
+    }
+
+    private void evictOnRollback(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(itemId);
+                }
+            }
+        });
+    }
+
+    private static class ItemIntervals {
+        private final IntervalSet approved = new IntervalSet();
+        private final IntervalSet waiting = new IntervalSet();
+    }
+}
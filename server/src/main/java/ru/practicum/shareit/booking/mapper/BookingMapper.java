@@ -5,7 +5,9 @@ import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSummary;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 
 import java.util.List;
@@ -20,4 +22,6 @@ public interface BookingMapper {
     Booking toBookingFromBookingCreateDto(BookingCreateDto bookingCreateDto);
 
     List<BookingFullDto> toBookingsFullDto(List<Booking> bookings);
+
+    BookingSummaryDto toBookingSummaryDto(BookingSummary bookingSummary);
 }
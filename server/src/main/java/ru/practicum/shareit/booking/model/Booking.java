@@ -9,12 +9,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings", schema = "public")
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item",
+                attributeNodes = {@NamedAttributeNode("owner"), @NamedAttributeNode("request")}))
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
+    public static final String DETAILS_GRAPH = "Booking.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,6 +32,8 @@ public class Booking {
     private Item item;
     @ManyToOne(fetch = FetchType.LAZY)
     private User booker;
+    @Column(name = "owner_id")
+    private Long ownerId;
     @Enumerated(EnumType.STRING)
     private StatusBooking status;
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingInterval {
+    LocalDateTime start;
+    LocalDateTime end;
+}
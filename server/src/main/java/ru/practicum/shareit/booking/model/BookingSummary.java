@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.model;
+
+public interface BookingSummary {
+    long getAll();
+
+    long getCurrent();
+
+    long getPast();
+
+    long getFuture();
+
+    long getWaiting();
+
+    long getRejected();
+
+    long getCanceled();
+}
@@ -7,5 +7,6 @@ public enum StateBooking {
     FUTURE,
     WAITING,
     REJECTED,
+    CANCELED,
     UNSUPPORTED_STATUS
 }
\ No newline at end of file
@@ -1,49 +1,98 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.hibernate.LockOptions;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingSummary;
 import ru.practicum.shareit.booking.model.StatusBooking;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    boolean existsBookingByIdAndItem_OwnerId(long bookingId, long ownerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String SUMMARY_COUNTS = "count(*) as \"all\", " +
+            "count(*) filter (where b.start_date < ?2 and b.end_date > ?2) as \"current\", " +
+            "count(*) filter (where b.end_date < ?2) as \"past\", " +
+            "count(*) filter (where b.start_date > ?2) as \"future\", " +
+            "count(*) filter (where b.status = 'WAITING') as \"waiting\", " +
+            "count(*) filter (where b.status = 'REJECTED') as \"rejected\", " +
+            "count(*) filter (where b.status = 'CANCELED') as \"canceled\"";
 
-    boolean existsBookingByIdAndStatusNot(long bookingId, StatusBooking statusBooking);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findBookingById(long bookingId);
 
-    boolean existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(long userId, long itemId, StatusBooking statusBooking, LocalDateTime currentTime);
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3 " +
+            "where b.id = ?1 and b.status = ?4 and b.ownerId = ?2")
+    int updateStatusByIdAndOwnerId(long bookingId, long ownerId, StatusBooking status, StatusBooking currentStatus);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3 " +
+            "where b.id in ?1 and b.status = ?4 and b.ownerId = ?2")
+    int updateStatusByIdInAndOwnerId(Collection<Long> bookingIds, long ownerId, StatusBooking status, StatusBooking currentStatus);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long userId, StatusBooking statusBooking, Pageable pageable);
+    @Query("select b.id from Booking b where b.id in ?1 and exists (select o.id from Booking o " +
+            "where o.item = b.item and o.status = ?2 and o.start < b.end and o.end > b.start)")
+    List<Long> findIdsOverlappingStatus(Collection<Long> bookingIds, StatusBooking status);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Booking> findAllByIdInAndOwnerIdAndStatus(Collection<Long> bookingIds, long ownerId, StatusBooking status);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime end, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "" + LockOptions.SKIP_LOCKED))
+    List<Booking> findAllByStatusAndStartBeforeAndIdGreaterThanOrderById(StatusBooking status, LocalDateTime currentTime,
+                                                                         long afterId, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime start, Pageable pageable);
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ?2 where b.id in ?1")
+    int updateStatusByIdIn(Collection<Long> bookingIds, StatusBooking status);
 
-    List<Booking> findAllByItem_OwnerIdOrderByStartDesc(long userId, Pageable pageable);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
 
-    List<Booking> findAllByItem_OwnerIdAndStatusOrderByStartDesc(long userId, StatusBooking statusBooking, Pageable pageable);
+    boolean existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(long userId, long itemId, StatusBooking statusBooking, LocalDateTime currentTime);
 
-    List<Booking> findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(value = "select " + SUMMARY_COUNTS + " from bookings b where b.booker_id = ?1", nativeQuery = true)
+    BookingSummary getSummaryByBookerId(long bookerId, LocalDateTime currentTime);
 
-    List<Booking> findAllByItem_OwnerIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime end, Pageable pageable);
+    @Query(value = "select " + SUMMARY_COUNTS + " from bookings b where b.owner_id = ?1", nativeQuery = true)
+    BookingSummary getSummaryByOwnerId(long ownerId, LocalDateTime currentTime);
 
-    List<Booking> findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime start, Pageable pageable);
+    List<Booking> findAllByItemIdAndStatusInAndEndAfter(long itemId, Collection<StatusBooking> statuses,
+                                                        LocalDateTime currentTime);
 
-    Optional<Booking> findFirstBookingByItemIdAndStatusNotAndStartBeforeOrderByStartDesc(long itemId, StatusBooking statusBooking, LocalDateTime currentTime);
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.start, b.end) from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.start < ?4 and b.end > ?3 order by b.start")
+    List<BookingInterval> findIntervalsByItemIdAndStatusIn(long itemId, Collection<StatusBooking> statuses,
+                                                           LocalDateTime from, LocalDateTime to);
 
-    Optional<Booking> findFirstBookingByItemIdAndStatusNotAndStartAfterOrderByStart(long itemId, StatusBooking statusBooking, LocalDateTime currentTime);
+    @Query(value = "select t.id, t.start_date, t.end_date, t.item_id, t.booker_id, t.owner_id, t.status from ( " +
+            "select b.*, row_number() over (partition by b.item_id, b.start_date < :currentTime " +
+            "order by case when b.start_date < :currentTime then b.start_date end desc, b.start_date) as rn " +
+            "from bookings b where b.item_id in :itemIds and b.status <> :#{#status.name()} " +
+            "and b.start_date <> :currentTime) as t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("status") StatusBooking status,
+                                                    @Param("currentTime") LocalDateTime currentTime);
 
-    @Query(value = "select b from Booking b where b.item.id = ?1 and b.item.owner.id = ?2 and b.status <> ?3 and b.start < ?4 order by b.start desc")
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query(value = "select b from Booking b where b.item.id = ?1 and b.ownerId = ?2 and b.status <> ?3 and b.start < ?4 order by b.start desc")
     List<Booking> findLastBookingByOwnerId(long itemId, long bookerId, StatusBooking statusBooking, LocalDateTime currentTime);
 
-    @Query(value = "select b from Booking b where b.item.id = ?1 and b.item.owner.id = ?2 and b.status <> ?3 and b.start > ?4 order by b.start")
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query(value = "select b from Booking b where b.item.id = ?1 and b.ownerId = ?2 and b.status <> ?3 and b.start > ?4 order by b.start")
     List<Booking> findNextBookingByOwnerId(long itemId, long bookerId, StatusBooking statusBooking, LocalDateTime currentTime);
 }
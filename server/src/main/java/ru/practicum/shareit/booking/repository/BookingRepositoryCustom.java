@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.StateBooking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findAllByState(BookingRole role, long userId, StateBooking state, LocalDateTime currentTime,
+                                 Pageable pageable);
+
+    List<Booking> findAllByStateAfterCursor(BookingRole role, long userId, StateBooking state, LocalDateTime currentTime,
+                                            LocalDateTime cursorStart, long cursorId, int size);
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.StateBooking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String SELECT = "select b from Booking b join fetch b.item i join fetch i.owner " +
+            "left join fetch i.request join fetch b.booker ";
+    private static final String ORDER = " order by b.start desc, b.id desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllByState(BookingRole role, long userId, StateBooking state, LocalDateTime currentTime,
+                                        Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = SELECT + where(role, userId, state, currentTime, parameters) + ORDER;
+        return createQuery(jpql, parameters)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Booking> findAllByStateAfterCursor(BookingRole role, long userId, StateBooking state,
+                                                   LocalDateTime currentTime, LocalDateTime cursorStart, long cursorId,
+                                                   int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = SELECT + where(role, userId, state, currentTime, parameters) +
+                " and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))" + ORDER;
+        parameters.put("cursorStart", cursorStart);
+        parameters.put("cursorId", cursorId);
+        return createQuery(jpql, parameters)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private String where(BookingRole role, long userId, StateBooking state, LocalDateTime currentTime,
+                         Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder(role == BookingRole.OWNER
+                ? "where b.ownerId = :userId"
+                : "where b.booker.id = :userId");
+        parameters.put("userId", userId);
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                where.append(" and b.start < :currentTime and b.end > :currentTime");
+                parameters.put("currentTime", currentTime);
+                break;
+            case PAST:
+                where.append(" and b.end < :currentTime");
+                parameters.put("currentTime", currentTime);
+                break;
+            case FUTURE:
+                where.append(" and b.start > :currentTime");
+                parameters.put("currentTime", currentTime);
+                break;
+            case WAITING:
+                where.append(" and b.status = :status");
+                parameters.put("status", StatusBooking.WAITING);
+                break;
+            case REJECTED:
+                where.append(" and b.status = :status");
+                parameters.put("status", StatusBooking.REJECTED);
+                break;
+            case CANCELED:
+                where.append(" and b.status = :status");
+                parameters.put("status", StatusBooking.CANCELED);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown state: " + state);
+        }
+        return where.toString();
+    }
+
+    private TypedQuery<Booking> createQuery(String jpql, Map<String, Object> parameters) {
+        TypedQuery<Booking> query = entityManager.createQuery(jpql, Booking.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -2,8 +2,13 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -11,9 +16,21 @@ public interface BookingService {
 
     BookingFullDto approvedOrRejectedBooking(long userId, long bookingId, boolean approved);
 
+    List<BookingDecisionResultDto> approvedOrRejectedBookings(long userId, List<BookingDecisionDto> decisions);
+
     BookingFullDto getBookingById(long userId, long bookingId);
 
     List<BookingFullDto> getBookingsByBookerId(long userId, String state, Pageable pageable);
 
     List<BookingFullDto> getAllBookingsForItemsByOwnerId(long userId, String state, Pageable pageable);
+
+    List<BookingFullDto> getBookingsByBookerId(long userId, String state, BookingCursor cursor, int size);
+
+    List<BookingFullDto> getAllBookingsForItemsByOwnerId(long userId, String state, BookingCursor cursor, int size);
+
+    BookingSummaryDto getBookingSummaryByBookerId(long userId);
+
+    BookingSummaryDto getBookingSummaryForItemsByOwnerId(long userId);
+
+    List<Long> expireWaitingBookings(LocalDateTime currentTime, long afterId, int size);
 }
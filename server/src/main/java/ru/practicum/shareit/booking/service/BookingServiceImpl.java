@@ -1,32 +1,57 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.StateBooking;
 import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
+    @Transactional
     public BookingFullDto addBooking(long bookerId, BookingCreateDto bookingCreateDto) {
         checkExistUser(bookerId);
         checkDateEndIsAfterStart(bookingCreateDto);
@@ -38,20 +63,80 @@ public class BookingServiceImpl implements BookingService {
         checkAvailabilityItem(item);
         Booking booking = BookingMapper.INSTANCE.toBookingFromBookingCreateDto(bookingCreateDto);
         booking.setItem(item);
+        booking.setOwnerId(ownerId);
         booking.setBooker(userRepository.findById(bookerId).get());
         booking.setStatus(StatusBooking.WAITING);
-        return BookingMapper.INSTANCE.toBookingFullDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingIntervalIndex
+                .addIfFree(itemId, booking.getStart(), booking.getEnd(), () -> bookingRepository.save(booking))
+                .orElseThrow(() -> new ValidationException(String.format("Вещь id %s уже забронирована на эти даты", itemId)));
+        return BookingMapper.INSTANCE.toBookingFullDto(savedBooking);
     }
 
     @Override
+    @Transactional
     public BookingFullDto approvedOrRejectedBooking(long userId, long bookingId, boolean approved) {
-        checkExistBooking(bookingId);
-        Booking booking = bookingRepository.findById(bookingId).get();
-        checkAccessForViewing(userId, booking.getBooker().getId(), booking.getItem().getOwner().getId());
-        checkPossibilityChangeStatus(bookingId, booking);
-        checkItemInBookingOwnedUser(bookingId, userId);
-        booking.setStatus(approved ? StatusBooking.APPROVED : StatusBooking.REJECTED);
-        return BookingMapper.INSTANCE.toBookingFullDto(bookingRepository.save(booking));
+        StatusBooking status = approved ? StatusBooking.APPROVED : StatusBooking.REJECTED;
+        if (approved) {
+            itemRepository.lockByBookingId(bookingId);
+        }
+        int updated = updateStatus(bookingId, userId, status);
+        Booking booking = bookingRepository.findBookingById(bookingId).orElseThrow(() -> {
+            String errorMessage = String.format("Бронирование id %s не найдено", bookingId);
+            return new NotFoundException(errorMessage);
+        });
+        if (updated == 0) {
+            long ownerId = booking.getOwnerId();
+            checkAccessForViewing(userId, booking.getBooker().getId(), ownerId);
+            checkPossibilityChangeStatus(booking);
+            checkItemInBookingOwnedUser(userId, ownerId);
+        } else if (approved) {
+            bookingIntervalIndex.approve(booking);
+        } else {
+            bookingIntervalIndex.reject(booking);
+        }
+        return BookingMapper.INSTANCE.toBookingFullDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approvedOrRejectedBookings(long userId, List<BookingDecisionDto> decisions) {
+        checkExistUser(userId);
+        Map<Long, Boolean> approvedByBookingId = toApprovedByBookingId(decisions);
+        itemRepository.lockByBookingIdIn(approvedByBookingId.keySet());
+        List<Booking> waitingBookings = bookingRepository.findAllByIdInAndOwnerIdAndStatus(
+                approvedByBookingId.keySet(), userId, StatusBooking.WAITING);
+        Set<Long> waitingIds = waitingBookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toSet());
+        Set<Long> conflictIds = findApprovalConflicts(waitingBookings, approvedByBookingId);
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        waitingIds.stream()
+                .filter(id -> !conflictIds.contains(id))
+                .forEach(id -> (approvedByBookingId.get(id) ? approvedIds : rejectedIds).add(id));
+        updateStatuses(approvedIds, userId, StatusBooking.APPROVED);
+        updateStatuses(rejectedIds, userId, StatusBooking.REJECTED);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(approvedByBookingId.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        approvedByBookingId.forEach((bookingId, approved) -> {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null || !Objects.equals(booking.getOwnerId(), userId)) {
+                results.add(new BookingDecisionResultDto(bookingId, BookingDecisionResultDto.Result.NOT_FOUND, null));
+            } else if (conflictIds.contains(bookingId)) {
+                results.add(new BookingDecisionResultDto(bookingId, BookingDecisionResultDto.Result.CONFLICT, booking.getStatus()));
+            } else if (waitingIds.contains(bookingId)) {
+                if (approved) {
+                    bookingIntervalIndex.approve(booking);
+                } else {
+                    bookingIntervalIndex.reject(booking);
+                }
+                results.add(new BookingDecisionResultDto(bookingId, BookingDecisionResultDto.Result.UPDATED, booking.getStatus()));
+            } else {
+                results.add(new BookingDecisionResultDto(bookingId, BookingDecisionResultDto.Result.NOT_WAITING, booking.getStatus()));
+            }
+        });
+        return results;
     }
 
     @Override
@@ -59,7 +144,7 @@ public class BookingServiceImpl implements BookingService {
         checkExistBooking(bookingId);
         Booking booking = bookingRepository.findById(bookingId).get();
         long bookerId = booking.getBooker().getId();
-        long ownerId = booking.getItem().getOwner().getId();
+        long ownerId = booking.getOwnerId();
         checkAccessForViewing(userId, bookerId, ownerId);
         return BookingMapper.INSTANCE.toBookingFullDto(booking);
     }
@@ -67,59 +152,67 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingFullDto> getBookingsByBookerId(long bookerId, String state, Pageable pageable) {
         checkExistUser(bookerId);
-        StateBooking stateBooking = StateBooking.valueOf(state);
-        switch (stateBooking) {
-            case ALL:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable));
-            case CURRENT:
-                return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository
-                        .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                                bookerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-            case PAST:
-                return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository
-                        .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now(), pageable));
-            case FUTURE:
-                return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository
-                        .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, LocalDateTime.now(), pageable));
-            case WAITING:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, StatusBooking.WAITING, pageable));
-            case REJECTED:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, StatusBooking.REJECTED, pageable));
-            default:
-                throw new IllegalArgumentException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository.findAllByState(
+                BookingRole.BOOKER, bookerId, toStateBooking(state), LocalDateTime.now(), pageable));
     }
 
     @Override
     public List<BookingFullDto> getAllBookingsForItemsByOwnerId(long ownerId, String state, Pageable pageable) {
         checkExistUser(ownerId);
+        return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository.findAllByState(
+                BookingRole.OWNER, ownerId, toStateBooking(state), LocalDateTime.now(), pageable));
+    }
+
+    @Override
+    public List<BookingFullDto> getBookingsByBookerId(long bookerId, String state, BookingCursor cursor, int size) {
+        checkExistUser(bookerId);
+        return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository.findAllByStateAfterCursor(
+                BookingRole.BOOKER, bookerId, toStateBooking(state), LocalDateTime.now(),
+                cursor.getStart(), cursor.getId(), size));
+    }
+
+    @Override
+    public List<BookingFullDto> getAllBookingsForItemsByOwnerId(long ownerId, String state, BookingCursor cursor, int size) {
+        checkExistUser(ownerId);
+        return BookingMapper.INSTANCE.toBookingsFullDto(bookingRepository.findAllByStateAfterCursor(
+                BookingRole.OWNER, ownerId, toStateBooking(state), LocalDateTime.now(),
+                cursor.getStart(), cursor.getId(), size));
+    }
+
+    @Override
+    public BookingSummaryDto getBookingSummaryByBookerId(long bookerId) {
+        checkExistUser(bookerId);
+        return BookingMapper.INSTANCE.toBookingSummaryDto(
+                bookingRepository.getSummaryByBookerId(bookerId, LocalDateTime.now()));
+    }
+
+    @Override
+    public BookingSummaryDto getBookingSummaryForItemsByOwnerId(long ownerId) {
+        checkExistUser(ownerId);
+        return BookingMapper.INSTANCE.toBookingSummaryDto(
+                bookingRepository.getSummaryByOwnerId(ownerId, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> expireWaitingBookings(LocalDateTime currentTime, long afterId, int size) {
+        List<Booking> bookings = bookingRepository.findAllByStatusAndStartBeforeAndIdGreaterThanOrderById(
+                StatusBooking.WAITING, currentTime, afterId, PageRequest.ofSize(size));
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        List<Long> bookingIds = bookings.stream().map(Booking::getId).collect(Collectors.toList());
+        bookingRepository.updateStatusByIdIn(bookingIds, StatusBooking.CANCELED);
+        bookings.forEach(bookingIntervalIndex::reject);
+        return bookingIds;
+    }
+
+    private StateBooking toStateBooking(String state) {
         StateBooking stateBooking = StateBooking.valueOf(state);
-        switch (stateBooking) {
-            case ALL:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(ownerId, pageable));
-            case CURRENT:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                                ownerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-            case PAST:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now(), pageable));
-            case FUTURE:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(ownerId, LocalDateTime.now(), pageable));
-            case WAITING:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(ownerId, StatusBooking.WAITING, pageable));
-            case REJECTED:
-                return BookingMapper.INSTANCE.toBookingsFullDto(
-                        bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(ownerId, StatusBooking.REJECTED, pageable));
-            default:
-                throw new IllegalArgumentException("Unknown state: UNSUPPORTED_STATUS");
+        if (stateBooking == StateBooking.UNSUPPORTED_STATUS) {
+            throw new IllegalArgumentException("Unknown state: UNSUPPORTED_STATUS");
         }
+        return stateBooking;
     }
 
     private void checkExistUser(long userId) {
@@ -143,8 +236,8 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void checkItemInBookingOwnedUser(long bookingId, long userId) {
-        if (!bookingRepository.existsBookingByIdAndItem_OwnerId(bookingId, userId)) {
+    private void checkItemInBookingOwnedUser(long userId, long ownerId) {
+        if (userId != ownerId) {
             String errorMessage = String.format("Пользователь id %s не является владельцем вещи", userId);
             throw new NotFoundException(errorMessage);
         }
@@ -181,14 +274,96 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void checkPossibilityChangeStatus(long bookingId, Booking booking) {
-        if (bookingRepository.existsBookingByIdAndStatusNot(bookingId, StatusBooking.WAITING)) {
-            StatusBooking status = booking.getStatus();
+    private void checkPossibilityChangeStatus(Booking booking) {
+        StatusBooking status = booking.getStatus();
+        if (status != StatusBooking.WAITING) {
             String errorMessage = String.format("Изменение статуса бронирования запрещено, потому что у него статус \"%s\"", status);
             throw new ValidationException(errorMessage);
         }
     }
 
+    private int updateStatus(long bookingId, long ownerId, StatusBooking status) {
+        try {
+            return bookingRepository.updateStatusByIdAndOwnerId(bookingId, ownerId, status, StatusBooking.WAITING);
+        } catch (DataAccessException e) {
+            if (!isExclusionViolation(e)) {
+                throw e;
+            }
+            String errorMessage = String.format("Бронирование id %s пересекается с подтвержденным бронированием вещи", bookingId);
+            throw new DataIntegrityViolationException(errorMessage);
+        }
+    }
+
+    private void updateStatuses(List<Long> bookingIds, long ownerId, StatusBooking status) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        try {
+            bookingRepository.updateStatusByIdInAndOwnerId(bookingIds, ownerId, status, StatusBooking.WAITING);
+        } catch (DataAccessException e) {
+            if (!isExclusionViolation(e)) {
+                throw e;
+            }
+            String errorMessage = String.format("Бронирования %s пересекаются с подтвержденными бронированиями вещей", bookingIds);
+            throw new DataIntegrityViolationException(errorMessage);
+        }
+    }
+
+    private boolean isExclusionViolation(DataAccessException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Long> findApprovalConflicts(List<Booking> waitingBookings, Map<Long, Boolean> approvedByBookingId) {
+        Map<Long, Booking> waitingById = waitingBookings.stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedByItemId = new HashMap<>();
+        Set<Long> conflictIds = new HashSet<>();
+        approvedByBookingId.forEach((bookingId, approved) -> {
+            Booking booking = waitingById.get(bookingId);
+            if (booking == null || !approved) {
+                return;
+            }
+            List<Booking> itemApproved = approvedByItemId.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+            boolean overlapsBatch = itemApproved.stream().anyMatch(other ->
+                    other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart()));
+            if (overlapsBatch) {
+                conflictIds.add(bookingId);
+            } else {
+                itemApproved.add(booking);
+            }
+        });
+        if (approvedByItemId.isEmpty()) {
+            return conflictIds;
+        }
+        List<Long> candidateIds = approvedByItemId.values().stream()
+                .flatMap(List::stream)
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        conflictIds.addAll(bookingRepository.findIdsOverlappingStatus(candidateIds, StatusBooking.APPROVED));
+        return conflictIds;
+    }
+
+    private Map<Long, Boolean> toApprovedByBookingId(List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> approvedByBookingId = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision.getBookingId() == null || decision.getApproved() == null) {
+                String errorMessage = "Id бронирования и решение по нему должны быть заполнены";
+                throw new ValidationException(errorMessage);
+            }
+            if (approvedByBookingId.put(decision.getBookingId(), decision.getApproved()) != null) {
+                String errorMessage = String.format("Бронирование id %s указано несколько раз", decision.getBookingId());
+                throw new ValidationException(errorMessage);
+            }
+        }
+        return approvedByBookingId;
+    }
+
     private void checkMatchBookerAndOwner(long bookerId, Long ownerId) {
         if (ownerId == bookerId) {
             String errorMessage = "Бронирование невозможно. Владелец вещи и пользователь совпадают";
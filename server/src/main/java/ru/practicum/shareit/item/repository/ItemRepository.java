@@ -6,14 +6,18 @@ import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     List<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
     Optional<Item> findByIdAndOwnerId(Long itemId, Long userId);
 
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(long ownerId);
+
     boolean existsByIdAndOwnerId(Long itemId, Long userId);
 
     @Query(" select i from Item i " +
@@ -21,7 +25,30 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             " or lower(i.description) like lower(concat('%', ?1, '%')) ) and i.available = true ")
     List<Item> search(String text, Pageable pageable);
 
+    @Query(value = "select i.* from items i " +
+            "where i.available = true and i.search_vector @@ websearch_to_tsquery('russian', ?1) " +
+            "order by ts_rank(i.search_vector, websearch_to_tsquery('russian', ?1)) desc, i.id", nativeQuery = true)
+    List<Item> searchFullText(String text, Pageable pageable);
+
+    @Query(value = "select i.* from items i " +
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', ?1, '%')) or lower(i.description) like lower(concat('%', ?1, '%')) " +
+            "or lower(?1) <% lower(i.name) or lower(?1) <% lower(i.description)) " +
+            "order by greatest(word_similarity(lower(?1), lower(i.name)), " +
+            "word_similarity(lower(?1), lower(i.description))) desc, i.id", nativeQuery = true)
+    List<Item> searchSimilar(String text, Pageable pageable);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderById(long id, Pageable pageable);
+
     List<Item> findItemsByRequestId(long requestId);
 
     List<Item> findItemsByRequestIn(List<ItemRequest> itemRequests);
+
+    @Query(value = "select i.id from items i " +
+            "where i.id in (select b.item_id from bookings b where b.id in ?1) order by i.id for update", nativeQuery = true)
+    List<Long> lockByBookingIdIn(Collection<Long> bookingIds);
+
+    @Query(value = "select i.id from items i " +
+            "where i.id = (select b.item_id from bookings b where b.id = ?1) for update", nativeQuery = true)
+    Optional<Long> lockByBookingId(long bookingId);
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.repository;
+
+public interface ItemRepositoryCustom {
+    void setWordSimilarityThreshold(double threshold);
+}
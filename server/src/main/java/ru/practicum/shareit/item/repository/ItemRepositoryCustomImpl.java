@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void setWordSimilarityThreshold(double threshold) {
+        entityManager.createNativeQuery("select set_config('pg_trgm.word_similarity_threshold', ?1, true)")
+                .setParameter(1, String.valueOf(threshold))
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Map;
+import java.util.Set;
+
+final class EnglishStemmer {
+    private static final Map<String, String> EXCEPTIONS = Map.ofEntries(
+            Map.entry("skis", "ski"), Map.entry("skies", "sky"), Map.entry("dying", "die"), Map.entry("lying", "lie"),
+            Map.entry("tying", "tie"), Map.entry("idly", "idl"), Map.entry("gently", "gentl"), Map.entry("ugly", "ugli"),
+            Map.entry("early", "earli"), Map.entry("only", "onli"), Map.entry("singly", "singl"), Map.entry("sky", "sky"),
+            Map.entry("news", "news"), Map.entry("howe", "howe"), Map.entry("atlas", "atlas"),
+            Map.entry("cosmos", "cosmos"), Map.entry("bias", "bias"), Map.entry("andes", "andes"));
+    private static final Set<String> INVARIANTS_AFTER_STEP_1A = Set.of(
+            "inning", "outing", "canning", "herring", "earring", "proceed", "exceed", "succeed");
+    private static final String[] R1_PREFIXES = {"gener", "commun", "arsen"};
+    private static final String[] DOUBLES = {"bb", "dd", "ff", "gg", "mm", "nn", "pp", "rr", "tt"};
+    private static final String[][] STEP_2 = {
+            {"tional", "tion"}, {"enci", "ence"}, {"anci", "ance"}, {"abli", "able"}, {"entli", "ent"},
+            {"izer", "ize"}, {"ization", "ize"}, {"ational", "ate"}, {"ation", "ate"}, {"ator", "ate"},
+            {"alism", "al"}, {"aliti", "al"}, {"alli", "al"}, {"fulness", "ful"}, {"ousli", "ous"},
+            {"ousness", "ous"}, {"iveness", "ive"}, {"iviti", "ive"}, {"biliti", "ble"}, {"bli", "ble"},
+            {"ogi", "og"}, {"fulli", "ful"}, {"lessli", "less"}, {"li", ""}};
+    private static final String[][] STEP_3 = {
+            {"tional", "tion"}, {"ational", "ate"}, {"alize", "al"}, {"icate", "ic"}, {"iciti", "ic"},
+            {"ical", "ic"}, {"ful", ""}, {"ness", ""}, {"ative", ""}};
+    private static final String[] STEP_4 = {
+            "al", "ance", "ence", "er", "ic", "able", "ible", "ant", "ement", "ment", "ent", "ism", "ate", "iti",
+            "ous", "ive", "ize", "ion"};
+
+    private EnglishStemmer() {
+    }
+
+    static String stem(String word) {
+        String exception = EXCEPTIONS.get(word);
+        if (exception != null) {
+            return exception;
+        }
+        if (word.length() <= 2) {
+            return word;
+        }
+        StringBuilder sb = new StringBuilder(word);
+        markConsonantY(sb);
+        int r1 = regionOne(sb);
+        int r2 = regionAfterVowelAndConsonant(sb, r1);
+
+        step1a(sb);
+        if (INVARIANTS_AFTER_STEP_1A.contains(sb.toString())) {
+            return sb.toString();
+        }
+        step1b(sb, r1);
+        step1c(sb);
+        replaceSuffix(sb, STEP_2, r1, true);
+        step3(sb, r1, r2);
+        step4(sb, r2);
+        step5(sb, r1, r2);
+        return sb.toString().replace('Y', 'y');
+    }
+
+    private static void step1a(StringBuilder sb) {
+        if (endsWith(sb, "sses")) {
+            sb.setLength(sb.length() - 2);
+        } else if (endsWith(sb, "ied") || endsWith(sb, "ies")) {
+            sb.setLength(sb.length() > 4 ? sb.length() - 2 : sb.length() - 1);
+        } else if (endsWith(sb, "us") || endsWith(sb, "ss")) {
+            return;
+        } else if (endsWith(sb, "s") && hasVowel(sb, 0, sb.length() - 2)) {
+            sb.setLength(sb.length() - 1);
+        }
+    }
+
+    private static void step1b(StringBuilder sb, int r1) {
+        String suffix = longestSuffix(sb, "eed", "eedly", "ed", "edly", "ing", "ingly");
+        if (suffix == null) {
+            return;
+        }
+        if (suffix.startsWith("eed")) {
+            if (sb.length() - suffix.length() >= r1) {
+                sb.setLength(sb.length() - suffix.length() + 2);
+            }
+            return;
+        }
+        int stemLength = sb.length() - suffix.length();
+        if (!hasVowel(sb, 0, stemLength)) {
+            return;
+        }
+        sb.setLength(stemLength);
+        if (endsWith(sb, "at") || endsWith(sb, "bl") || endsWith(sb, "iz")) {
+            sb.append('e');
+        } else if (longestSuffix(sb, DOUBLES) != null) {
+            sb.setLength(sb.length() - 1);
+        } else if (isShort(sb, r1)) {
+            sb.append('e');
+        }
+    }
+
+    private static void step1c(StringBuilder sb) {
+        int last = sb.length() - 1;
+        if (last > 1 && (sb.charAt(last) == 'y' || sb.charAt(last) == 'Y') && !isVowel(sb.charAt(last - 1))) {
+            sb.setCharAt(last, 'i');
+        }
+    }
+
+    private static void step3(StringBuilder sb, int r1, int r2) {
+        if (endsWith(sb, "ative")) {
+            if (sb.length() - 5 >= r2) {
+                sb.setLength(sb.length() - 5);
+            }
+            return;
+        }
+        replaceSuffix(sb, STEP_3, r1, false);
+    }
+
+    private static void step4(StringBuilder sb, int r2) {
+        String suffix = longestSuffix(sb, STEP_4);
+        if (suffix == null || sb.length() - suffix.length() < r2) {
+            return;
+        }
+        if (suffix.equals("ion")) {
+            int stemLength = sb.length() - 3;
+            if (stemLength == 0 || (sb.charAt(stemLength - 1) != 's' && sb.charAt(stemLength - 1) != 't')) {
+                return;
+            }
+        }
+        sb.setLength(sb.length() - suffix.length());
+    }
+
+    private static void step5(StringBuilder sb, int r1, int r2) {
+        int last = sb.length() - 1;
+        if (sb.charAt(last) == 'e') {
+            if (last >= r2 || (last >= r1 && !endsWithShortSyllable(sb, last))) {
+                sb.setLength(last);
+            }
+        } else if (sb.charAt(last) == 'l' && last >= r2 && last > 0 && sb.charAt(last - 1) == 'l') {
+            sb.setLength(last);
+        }
+    }
+
+    private static void replaceSuffix(StringBuilder sb, String[][] replacements, int r1, boolean step2) {
+        String[] longest = null;
+        for (String[] replacement : replacements) {
+            if (endsWith(sb, replacement[0]) && (longest == null || replacement[0].length() > longest[0].length())) {
+                longest = replacement;
+            }
+        }
+        if (longest == null) {
+            return;
+        }
+        int stemLength = sb.length() - longest[0].length();
+        if (stemLength < r1) {
+            return;
+        }
+        if (step2 && longest[0].equals("ogi") && (stemLength == 0 || sb.charAt(stemLength - 1) != 'l')) {
+            return;
+        }
+        if (step2 && longest[0].equals("li") && (stemLength == 0 || "cdeghkmnrt".indexOf(sb.charAt(stemLength - 1)) < 0)) {
+            return;
+        }
+        sb.setLength(stemLength);
+        sb.append(longest[1]);
+    }
+
+    private static void markConsonantY(StringBuilder sb) {
+        if (sb.charAt(0) == 'y') {
+            sb.setCharAt(0, 'Y');
+        }
+        for (int i = 1; i < sb.length(); i++) {
+            if (sb.charAt(i) == 'y' && isVowel(sb.charAt(i - 1))) {
+                sb.setCharAt(i, 'Y');
+            }
+        }
+    }
+
+    private static int regionOne(CharSequence word) {
+        for (String prefix : R1_PREFIXES) {
+            if (word.length() >= prefix.length() && word.subSequence(0, prefix.length()).toString().equals(prefix)) {
+                return prefix.length();
+            }
+        }
+        return regionAfterVowelAndConsonant(word, 0);
+    }
+
+    private static int regionAfterVowelAndConsonant(CharSequence word, int from) {
+        for (int i = from + 1; i < word.length(); i++) {
+            if (!isVowel(word.charAt(i)) && isVowel(word.charAt(i - 1))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static boolean isShort(CharSequence word, int r1) {
+        return r1 >= word.length() && endsWithShortSyllable(word, word.length());
+    }
+
+    private static boolean endsWithShortSyllable(CharSequence word, int end) {
+        if (end == 2) {
+            return isVowel(word.charAt(0)) && !isVowel(word.charAt(1));
+        }
+        return end >= 3 && !isVowel(word.charAt(end - 3)) && isVowel(word.charAt(end - 2))
+                && !isVowel(word.charAt(end - 1)) && "wxY".indexOf(word.charAt(end - 1)) < 0;
+    }
+
+    private static String longestSuffix(CharSequence word, String... suffixes) {
+        String longest = null;
+        for (String suffix : suffixes) {
+            if (endsWith(word, suffix) && (longest == null || suffix.length() > longest.length())) {
+                longest = suffix;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean endsWith(CharSequence word, String suffix) {
+        int offset = word.length() - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (word.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasVowel(CharSequence word, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isVowel(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return "aeiouy".indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+    private static final long[] EMPTY = new long[0];
+    private static final String[] EMPTY_TOKENS = new String[0];
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties itemSearchProperties;
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final LongHashMap<String[]> itemTokens = new LongHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongHashMap<Boolean> updatedWhileBuilding;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            updatedWhileBuilding = new LongHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = 0;
+        int count = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(
+                    lastId, PageRequest.ofSize(itemSearchProperties.getIndexBatchSize()));
+            items.forEach(item -> apply(item.getId(), analyze(item), false));
+            count += items.size();
+            if (!items.isEmpty()) {
+                lastId = items.get(items.size() - 1).getId();
+            }
+        } while (!items.isEmpty());
+        lock.writeLock().lock();
+        try {
+            updatedWhileBuilding = null;
+            ready = true;
+            log.info(String.format("Индекс поиска вещей построен: %s вещей, %s слов", count, postings.size()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void update(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+        long itemId = item.getId();
+        String[] tokens = analyze(item);
+        afterCommit(() -> apply(itemId, tokens, true));
+    }
+
+    public void remove(Collection<Long> itemIds) {
+        if (!isEnabled() || itemIds.isEmpty()) {
+            return;
+        }
+        long[] ids = itemIds.stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        afterCommit(() -> {
+            for (long itemId : ids) {
+                apply(itemId, EMPTY_TOKENS, true);
+            }
+        });
+    }
+
+    public long[] search(String text, long offset, int limit) {
+        String[] queryTokens = ItemTextAnalyzer.analyze(text);
+        if (queryTokens.length == 0) {
+            return EMPTY;
+        }
+        long[] itemIds = null;
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+                long[] matches = find(token);
+                itemIds = itemIds == null ? matches : PostingList.intersect(itemIds, matches);
+                if (itemIds.length == 0) {
+                    return EMPTY;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (offset >= itemIds.length) {
+            return EMPTY;
+        }
+        return Arrays.copyOfRange(itemIds, (int) offset, (int) Math.min(itemIds.length, offset + limit));
+    }
+
+    private String[] analyze(Item item) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                ? ItemTextAnalyzer.analyze(Objects.toString(item.getName(), "") + " " + Objects.toString(item.getDescription(), ""))
+                : EMPTY_TOKENS;
+    }
+
+    private void apply(long itemId, String[] tokens, boolean committed) {
+        lock.writeLock().lock();
+        try {
+            if (updatedWhileBuilding != null) {
+                if (committed) {
+                    updatedWhileBuilding.put(itemId, Boolean.TRUE);
+                } else if (updatedWhileBuilding.containsKey(itemId)) {
+                    return;
+                }
+            }
+            String[] previousTokens = itemTokens.remove(itemId);
+            if (previousTokens != null) {
+                for (String token : previousTokens) {
+                    PostingList postingList = postings.get(token);
+                    if (postingList != null && postingList.remove(itemId) && postingList.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+            if (tokens.length == 0) {
+                return;
+            }
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(itemId);
+            }
+            itemTokens.put(itemId, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] find(String token) {
+        if (token.length() < itemSearchProperties.getMinPrefixLength()) {
+            PostingList postingList = postings.get(token);
+            return postingList == null ? EMPTY : postingList.toArray();
+        }
+        Collection<PostingList> postingLists = postings.subMap(token, true, token + Character.MAX_VALUE, false).values();
+        return postingLists.isEmpty() ? EMPTY : PostingList.union(postingLists);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private boolean isEnabled() {
+        return itemSearchProperties.getMode() == ItemSearchMode.INDEX;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.search")
+@Getter
+@Setter
+public class ItemSearchProperties {
+    private ItemSearchMode mode = ItemSearchMode.LIKE;
+    private Double similarityThreshold;
+    private int indexBatchSize = 1000;
+    private int minPrefixLength = 3;
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+class PostingList {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids = new long[4];
+    private int size;
+
+    boolean add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    int copyTo(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+        return offset + size;
+    }
+
+    static long[] union(Collection<PostingList> postingLists) {
+        int total = 0;
+        for (PostingList postingList : postingLists) {
+            total += postingList.size;
+        }
+        long[] result = new long[total];
+        int offset = 0;
+        for (PostingList postingList : postingLists) {
+            offset = postingList.copyTo(result, offset);
+        }
+        if (postingLists.size() == 1) {
+            return result;
+        }
+        Arrays.sort(result);
+        int k = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (k == 0 || result[k - 1] != result[i]) {
+                result[k++] = result[i];
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    static long[] intersect(long[] first, long[] second) {
+        if (first.length == 0 || second.length == 0) {
+            return EMPTY;
+        }
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
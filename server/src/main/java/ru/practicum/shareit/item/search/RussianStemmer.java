@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.search;
+
+final class RussianStemmer {
+    private static final String VOWELS = "аеиоуыэюя";
+    private static final String[] PERFECTIVE_GERUND = {
+            "ившись", "ывшись", "вшись", "ивши", "ывши", "вши", "ив", "ыв", "в"};
+    private static final String[] PERFECTIVE_GERUND_AFTER_A = {"вшись", "вши", "в"};
+    private static final String[] ADJECTIVE = {
+            "ими", "ыми", "его", "ого", "ему", "ому", "ее", "ие", "ые", "ое", "ей", "ий", "ый", "ой", "ем", "им",
+            "ым", "ом", "их", "ых", "ую", "юю", "ая", "яя", "ою", "ею"};
+    private static final String[] PARTICIPLE = {"ивш", "ывш", "ующ", "ем", "нн", "вш", "ющ", "щ"};
+    private static final String[] PARTICIPLE_AFTER_A = {"ем", "нн", "вш", "ющ", "щ"};
+    private static final String[] REFLEXIVE = {"ся", "сь"};
+    private static final String[] VERB = {
+            "уйте", "ейте", "ила", "ыла", "ена", "ите", "или", "ыли", "ило", "ыло", "ено", "ует", "уют", "ены", "ить",
+            "ыть", "ишь", "ете", "йте", "ешь", "нно", "ей", "уй", "ил", "ыл", "им", "ым", "ен", "ят", "ит", "ыт", "ую",
+            "ла", "на", "ли", "ем", "ло", "но", "ет", "ют", "ны", "ть", "ю", "й", "л", "н"};
+    private static final String[] VERB_AFTER_A = {
+            "ете", "йте", "ешь", "нно", "ла", "на", "ли", "ем", "ло", "но", "ет", "ют", "ны", "ть", "й", "л", "н"};
+    private static final String[] NOUN = {
+            "иями", "ями", "ами", "ией", "иям", "ием", "иях", "ев", "ов", "ие", "ье", "еи", "ии", "ей", "ой", "ий",
+            "ям", "ем", "ам", "ом", "ах", "ях", "ию", "ью", "ия", "ья", "а", "е", "и", "й", "о", "у", "ы", "ь",
+            "ю", "я"};
+    private static final String[] SUPERLATIVE = {"ейше", "ейш"};
+    private static final String[] DERIVATIONAL = {"ость", "ост"};
+
+    private RussianStemmer() {
+    }
+
+    static String stem(String word) {
+        word = word.replace('ё', 'е');
+        int rv = regionAfterVowel(word, 0);
+        if (rv >= word.length()) {
+            return word;
+        }
+        int r2 = regionAfterVowelAndConsonant(word, regionAfterVowelAndConsonant(word, 0));
+        String prefix = word.substring(0, rv);
+        String region = word.substring(rv);
+
+        String withoutEnding = removeEnding(region, PERFECTIVE_GERUND, PERFECTIVE_GERUND_AFTER_A);
+        if (withoutEnding == null) {
+            String withoutReflexive = removeEnding(region, REFLEXIVE, null);
+            if (withoutReflexive != null) {
+                region = withoutReflexive;
+            }
+            withoutEnding = removeAdjectival(region);
+            if (withoutEnding == null) {
+                withoutEnding = removeEnding(region, VERB, VERB_AFTER_A);
+            }
+            if (withoutEnding == null) {
+                withoutEnding = removeEnding(region, NOUN, null);
+            }
+        }
+        if (withoutEnding != null) {
+            region = withoutEnding;
+        }
+
+        if (region.endsWith("и")) {
+            region = region.substring(0, region.length() - 1);
+        }
+
+        for (String ending : DERIVATIONAL) {
+            if (region.endsWith(ending) && rv + region.length() - ending.length() >= r2) {
+                region = region.substring(0, region.length() - ending.length());
+                break;
+            }
+        }
+
+        if (region.endsWith("нн")) {
+            region = region.substring(0, region.length() - 1);
+        } else {
+            String withoutSuperlative = removeEnding(region, SUPERLATIVE, null);
+            if (withoutSuperlative != null) {
+                region = withoutSuperlative.endsWith("нн")
+                        ? withoutSuperlative.substring(0, withoutSuperlative.length() - 1)
+                        : withoutSuperlative;
+            } else if (region.endsWith("ь")) {
+                region = region.substring(0, region.length() - 1);
+            }
+        }
+        return prefix + region;
+    }
+
+    private static String removeAdjectival(String region) {
+        String withoutAdjective = removeEnding(region, ADJECTIVE, null);
+        if (withoutAdjective == null) {
+            return null;
+        }
+        String withoutParticiple = removeEnding(withoutAdjective, PARTICIPLE, PARTICIPLE_AFTER_A);
+        return withoutParticiple != null ? withoutParticiple : withoutAdjective;
+    }
+
+    private static String removeEnding(String region, String[] endings, String[] endingsAfterA) {
+        String longest = null;
+        for (String ending : endings) {
+            if (region.endsWith(ending) && (longest == null || ending.length() > longest.length())) {
+                longest = ending;
+            }
+        }
+        if (longest == null) {
+            return null;
+        }
+        int start = region.length() - longest.length();
+        if (endingsAfterA != null && contains(endingsAfterA, longest)) {
+            if (start == 0 || (region.charAt(start - 1) != 'а' && region.charAt(start - 1) != 'я')) {
+                return null;
+            }
+        }
+        return region.substring(0, start);
+    }
+
+    private static boolean contains(String[] values, String value) {
+        for (String candidate : values) {
+            if (candidate.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int regionAfterVowel(String word, int from) {
+        for (int i = from; i < word.length(); i++) {
+            if (isVowel(word.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static int regionAfterVowelAndConsonant(String word, int from) {
+        for (int i = from + 1; i < word.length(); i++) {
+            if (!isVowel(word.charAt(i)) && isVowel(word.charAt(i - 1))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static boolean isVowel(char c) {
+        return VOWELS.indexOf(c) >= 0;
+    }
+}
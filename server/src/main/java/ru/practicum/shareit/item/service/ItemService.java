@@ -3,8 +3,10 @@ package ru.practicum.shareit.item.service;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -19,4 +21,6 @@ public interface ItemService {
     CommentFullDto addComment(long userId, long itemId, CommentCreateDto commentCreateDto);
 
     List<ItemDto> search(long userId, String text, Pageable pageable);
+
+    ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
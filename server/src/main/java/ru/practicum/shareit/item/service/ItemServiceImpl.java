@@ -3,13 +3,16 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -17,6 +20,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -24,30 +29,48 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_AVAILABILITY_DAYS = 366;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchProperties itemSearchProperties;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public List<ItemDto> getItems(long ownerId, Pageable pageable) {
         LocalDateTime currentTime = LocalDateTime.now();
-        return itemRepository.findAllByOwnerIdOrderById(ownerId, pageable).stream()
+        List<Item> items = itemRepository.findAllByOwnerIdOrderById(ownerId, pageable);
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Booking>> bookings = bookingRepository.findLastAndNextBookingsByItemIdIn(
+                        itemIds, StatusBooking.REJECTED, currentTime)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
                 .map(item -> {
-                    item.setLastBooking(bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartBeforeOrderByStartDesc(
-                            item.getId(), StatusBooking.REJECTED, currentTime
-                    ).orElse(null));
-                    item.setNextBooking(bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartAfterOrderByStart(
-                            item.getId(), StatusBooking.REJECTED, currentTime
-                    ).orElse(null));
-                    item.setComments(commentRepository.findAllByItemId(item.getId()));
+                    setLastAndNextBooking(item, bookings.getOrDefault(item.getId(), Collections.emptyList()), currentTime);
+                    item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
                     return ItemMapper.INSTANCE.toItemDto(item);
                 })
                 .collect(Collectors.toList());
@@ -79,6 +102,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public ItemDto addItem(long ownerId, ItemDto itemDto) {
         checkUserById(ownerId);
         Item item = ItemMapper.INSTANCE.toItem(itemDto);
@@ -90,10 +114,13 @@ public class ItemServiceImpl implements ItemService {
             ItemRequest itemRequest = itemRequestRepository.findById(requestId).get();
             item.setRequest(itemRequest);
         }
-        return ItemMapper.INSTANCE.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.update(savedItem);
+        return ItemMapper.INSTANCE.toItemDto(savedItem);
     }
 
     @Override
+    @Transactional
     public CommentFullDto addComment(long userId, long itemId, CommentCreateDto commentCreateDto) {
         LocalDateTime currentTime = LocalDateTime.now();
         checkBookingByItemAndUserAndStatusAndPast(userId, itemId);
@@ -107,6 +134,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(long ownerId, ItemDto itemDto, long itemId) {
         checkUserById(ownerId);
         checkItemByOwner(ownerId, itemId);
@@ -124,7 +152,9 @@ public class ItemServiceImpl implements ItemService {
         User owner = userRepository.findById(ownerId).get();
         owner.setId(ownerId);
         item.setOwner(owner);
-        return ItemMapper.INSTANCE.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.update(savedItem);
+        return ItemMapper.INSTANCE.toItemDto(savedItem);
     }
 
     @Override
@@ -132,11 +162,87 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        return itemRepository.search(text, pageable).stream()
+        return searchItems(text, pageable).stream()
                 .map(ItemMapper.INSTANCE::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        checkExistItem(itemId);
+        checkAvailabilityPeriod(from, to);
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemIdAndStatusIn(
+                itemId, List.of(StatusBooking.APPROVED, StatusBooking.WAITING), from, to);
+        List<ItemAvailabilityDto.IntervalDto> busy = new ArrayList<>();
+        LocalDateTime busyStart = null;
+        LocalDateTime busyEnd = null;
+        for (BookingInterval interval : intervals) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            if (busyEnd != null && !start.isAfter(busyEnd)) {
+                if (end.isAfter(busyEnd)) {
+                    busyEnd = end;
+                }
+                continue;
+            }
+            if (busyEnd != null) {
+                busy.add(new ItemAvailabilityDto.IntervalDto(busyStart, busyEnd));
+            }
+            busyStart = start;
+            busyEnd = end;
+        }
+        if (busyEnd != null) {
+            busy.add(new ItemAvailabilityDto.IntervalDto(busyStart, busyEnd));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, busy);
+    }
+
+    private List<Item> searchItems(String text, Pageable pageable) {
+        switch (itemSearchProperties.getMode()) {
+            case FULL_TEXT:
+                return itemRepository.searchFullText(text, pageable);
+            case TRIGRAM:
+                Double similarityThreshold = itemSearchProperties.getSimilarityThreshold();
+                if (similarityThreshold == null) {
+                    return itemRepository.search(text, pageable);
+                }
+                itemRepository.setWordSimilarityThreshold(similarityThreshold);
+                return itemRepository.searchSimilar(text, pageable);
+            case INDEX:
+                if (itemSearchIndex.isReady()) {
+                    return findItemsByIds(itemSearchIndex.search(text, pageable.getOffset(), pageable.getPageSize()));
+                }
+                return itemRepository.search(text, pageable);
+            case LIKE:
+            default:
+                return itemRepository.search(text, pageable);
+        }
+    }
+
+    private List<Item> findItemsByIds(long[] itemIds) {
+        List<Long> ids = Arrays.stream(itemIds)
+                .boxed()
+                .collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return Arrays.stream(itemIds)
+                .mapToObj(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void setLastAndNextBooking(Item item, List<Booking> bookings, LocalDateTime currentTime) {
+        item.setLastBooking(null);
+        item.setNextBooking(null);
+        for (Booking booking : bookings) {
+            if (booking.getStart().isBefore(currentTime)) {
+                item.setLastBooking(booking);
+            } else {
+                item.setNextBooking(booking);
+            }
+        }
+    }
+
     private void checkUserById(long userId) {
         if (!userRepository.existsById(userId)) {
             String errorMessage = String.format("Пользователь id %s не найден", userId);
@@ -144,6 +250,24 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private void checkExistItem(long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            String errorMessage = String.format("Вещь id %s не найдена", itemId);
+            throw new NotFoundException(errorMessage);
+        }
+    }
+
+    private void checkAvailabilityPeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            String errorMessage = "Начало периода должно быть раньше его окончания";
+            throw new ValidationException(errorMessage);
+        }
+        if (from.plusDays(MAX_AVAILABILITY_DAYS).isBefore(to)) {
+            String errorMessage = String.format("Период не может быть длиннее %s дней", MAX_AVAILABILITY_DAYS);
+            throw new ValidationException(errorMessage);
+        }
+    }
+
     private void checkExistItemRequest(Long requestId) {
         if (!itemRequestRepository.existsById(requestId)) {
             String errorMessage = String.format("Запрос на создание id %s не найден", requestId);
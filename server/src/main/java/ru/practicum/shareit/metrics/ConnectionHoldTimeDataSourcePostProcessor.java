@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class ConnectionHoldTimeDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+            return new ConnectionHoldTimeDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class ConnectionHoldTimeFilter extends OncePerRequestFilter {
+    static final String HOLD_TIME_METRIC = "shareit.http.server.connection.hold";
+    static final String CONNECTIONS_METRIC = "shareit.http.server.connections";
+    private static final ThreadLocal<RequestConnections> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    static void recordHold(long nanos) {
+        RequestConnections connections = CURRENT.get();
+        if (connections != null) {
+            connections.count++;
+            connections.holdNanos += nanos;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestConnections connections = new RequestConnections();
+        CURRENT.set(connections);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            Timer.builder(HOLD_TIME_METRIC)
+                    .description("Суммарное время удержания соединений с базой данных за один запрос")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(connections.holdNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(CONNECTIONS_METRIC)
+                    .description("Количество соединений с базой данных, полученных за один запрос")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(connections.count);
+        }
+    }
+
+    private static class RequestConnections {
+        private int count;
+        private long holdNanos;
+    }
+}
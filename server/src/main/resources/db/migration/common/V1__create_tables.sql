@@ -1,5 +1,3 @@
-drop table if exists users, items, bookings, comments, item_requests;
-
 CREATE TABLE if not exists users
 (
     id    bigint generated by default as identity primary key,
@@ -0,0 +1,6 @@
+CREATE INDEX if not exists item_requests_requestor_id_created_idx ON item_requests (requestor_id, created desc);
+CREATE INDEX if not exists items_owner_id_id_idx ON items (owner_id, id);
+CREATE INDEX if not exists items_request_id_idx ON items (request_id);
+CREATE INDEX if not exists bookings_booker_id_start_date_idx ON bookings (booker_id, start_date desc, id desc);
+CREATE INDEX if not exists bookings_item_id_status_start_date_idx ON bookings (item_id, status, start_date);
+CREATE INDEX if not exists comments_item_id_idx ON comments (item_id);
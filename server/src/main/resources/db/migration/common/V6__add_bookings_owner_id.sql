@@ -0,0 +1,3 @@
+ALTER TABLE bookings ADD COLUMN if not exists owner_id bigint references users (id);
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) WHERE owner_id is null;
+CREATE INDEX if not exists bookings_owner_id_start_date_idx ON bookings (owner_id, start_date desc, id desc);
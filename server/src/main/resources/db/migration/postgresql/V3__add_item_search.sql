@@ -0,0 +1,9 @@
+ALTER TABLE items
+    ADD COLUMN if not exists search_vector tsvector generated always as (
+        setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+        ) stored;
+CREATE INDEX if not exists items_search_vector_idx ON items USING gin (search_vector);
+CREATE EXTENSION if not exists pg_trgm;
+CREATE INDEX if not exists items_name_trgm_idx ON items USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX if not exists items_description_trgm_idx ON items USING gin (lower(description) gin_trgm_ops);
@@ -0,0 +1,5 @@
+CREATE EXTENSION if not exists btree_gist;
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_approved_overlap_excl
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status = 'APPROVED');
@@ -0,0 +1 @@
+CREATE INDEX if not exists bookings_waiting_id_idx ON bookings (id) WHERE status = 'WAITING';
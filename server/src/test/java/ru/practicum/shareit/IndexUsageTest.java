@@ -0,0 +1,332 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.StateBooking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Disabled
+class IndexUsageTest {
+    private static final int USERS = 10000;
+    private static final int ITEMS_PER_USER = 2;
+    private static final int BOOKINGS_PER_ITEM = 5;
+    private static final int REQUESTS_PER_USER = 5;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        seed();
+        jdbcTemplate.execute("vacuum analyze");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    @DisplayName("Запросы репозиториев используют индексы, а не последовательное сканирование таблиц")
+    void queryDoesNotUseSeqScan(String method, Consumer<IndexUsageTest> query) {
+        List<RecordedStatement> statements = record(query);
+
+        assertFalse(statements.isEmpty(), () -> method + " не выполнил ни одного запроса");
+        for (RecordedStatement statement : statements) {
+            String plan = explain(statement);
+            assertFalse(plan.contains("Seq Scan"),
+                    () -> method + " использует последовательное сканирование:\n" + statement.sql + "\n" + plan);
+        }
+    }
+
+    static Stream<Arguments> queries() {
+        PageRequest page = PageRequest.of(0, 20);
+        return Stream.of(
+                query("BookingRepository.existsBookingByBookerIdAndItemIdAndStatusAndStartBefore",
+                        test -> test.bookingRepository.existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(
+                                7, 15, StatusBooking.APPROVED, NOW)),
+                query("BookingRepository.findAllByState(BOOKER, ALL)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.BOOKER, 7, StateBooking.ALL, NOW, page)),
+                query("BookingRepository.findAllByState(BOOKER, WAITING)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.BOOKER, 7, StateBooking.WAITING, NOW, page)),
+                query("BookingRepository.findAllByState(BOOKER, CURRENT)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.BOOKER, 7, StateBooking.CURRENT, NOW, page)),
+                query("BookingRepository.findAllByState(BOOKER, PAST)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.BOOKER, 7, StateBooking.PAST, NOW, page)),
+                query("BookingRepository.findAllByState(BOOKER, FUTURE)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.BOOKER, 7, StateBooking.FUTURE, NOW, page)),
+                query("BookingRepository.findAllByStateAfterCursor(BOOKER, ALL)",
+                        test -> test.bookingRepository.findAllByStateAfterCursor(BookingRole.BOOKER, 7, StateBooking.ALL,
+                                NOW, NOW, 500, 20)),
+                query("BookingRepository.findAllByStateAfterCursor(BOOKER, WAITING)",
+                        test -> test.bookingRepository.findAllByStateAfterCursor(BookingRole.BOOKER, 7, StateBooking.WAITING,
+                                NOW, NOW, 500, 20)),
+                query("BookingRepository.findAllByState(OWNER, ALL)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.OWNER, 7, StateBooking.ALL, NOW, page)),
+                query("BookingRepository.findAllByState(OWNER, WAITING)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.OWNER, 7, StateBooking.WAITING, NOW, page)),
+                query("BookingRepository.findAllByState(OWNER, CURRENT)",
+                        test -> test.bookingRepository.findAllByState(BookingRole.OWNER, 7, StateBooking.CURRENT, NOW, page)),
+                query("BookingRepository.findAllByStateAfterCursor(OWNER, ALL)",
+                        test -> test.bookingRepository.findAllByStateAfterCursor(BookingRole.OWNER, 7, StateBooking.ALL,
+                                NOW, NOW, 500, 20)),
+                query("BookingRepository.getSummaryByOwnerId",
+                        test -> test.bookingRepository.getSummaryByOwnerId(7, NOW)),
+                query("BookingRepository.findLastAndNextBookingsByItemIdIn",
+                        test -> test.bookingRepository.findLastAndNextBookingsByItemIdIn(List.of(15L, 16L, 17L),
+                                StatusBooking.REJECTED, NOW)),
+                query("BookingRepository.findIntervalsByItemIdAndStatusIn",
+                        test -> test.bookingRepository.findIntervalsByItemIdAndStatusIn(15,
+                                List.of(StatusBooking.APPROVED, StatusBooking.WAITING), NOW, NOW.plusDays(30))),
+                query("BookingRepository.findIdsOverlappingStatus",
+                        test -> test.bookingRepository.findIdsOverlappingStatus(List.of(500L, 501L, 502L),
+                                StatusBooking.APPROVED)),
+                query("BookingRepository.findAllByStatusAndStartBeforeAndIdGreaterThanOrderById",
+                        test -> test.bookingRepository.findAllByStatusAndStartBeforeAndIdGreaterThanOrderById(
+                                StatusBooking.WAITING, NOW, 500, PageRequest.ofSize(500))),
+                query("BookingRepository.findLastBookingByOwnerId",
+                        test -> test.bookingRepository.findLastBookingByOwnerId(15, 8, StatusBooking.REJECTED, NOW)),
+                query("BookingRepository.findNextBookingByOwnerId",
+                        test -> test.bookingRepository.findNextBookingByOwnerId(15, 8, StatusBooking.REJECTED, NOW)),
+                query("ItemRepository.findAllByOwnerIdOrderById",
+                        test -> test.itemRepository.findAllByOwnerIdOrderById(7L, page)),
+                query("ItemRepository.findIdsByOwnerId", test -> test.itemRepository.findIdsByOwnerId(7)),
+                query("ItemRepository.findItemsByRequestId", test -> test.itemRepository.findItemsByRequestId(12)),
+                query("ItemRepository.findItemsByRequestIn",
+                        test -> test.itemRepository.findItemsByRequestIn(List.of(
+                                test.itemRequestRepository.getReferenceById(12L),
+                                test.itemRequestRepository.getReferenceById(13L),
+                                test.itemRequestRepository.getReferenceById(14L)))),
+                query("ItemRepository.lockByBookingIdIn",
+                        test -> test.itemRepository.lockByBookingIdIn(List.of(500L, 501L, 502L))),
+                query("ItemRepository.lockByBookingId", test -> test.itemRepository.lockByBookingId(500)),
+                query("ItemRepository.searchFullText", test -> test.itemRepository.searchFullText("item1234", page)),
+                query("CommentRepository.findAllByItemId", test -> test.commentRepository.findAllByItemId(15)),
+                query("CommentRepository.findAllByItemIdIn",
+                        test -> test.commentRepository.findAllByItemIdIn(List.of(15L, 16L, 17L))),
+                query("ItemRequestRepository.findByRequestorId",
+                        test -> test.itemRequestRepository.findByRequestorId(7)));
+    }
+
+    private static Arguments query(String method, Consumer<IndexUsageTest> query) {
+        return Arguments.of(method, query);
+    }
+
+    private List<RecordedStatement> record(Consumer<IndexUsageTest> query) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        query.accept(this);
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+
+    private static String explain(RecordedStatement statement) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql)) {
+                for (ParameterCall call : statement.parameters) {
+                    invoke(call.method, explain, call.args);
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, StatementListener listener) {
+        return type.cast(Proxy.newProxyInstance(IndexUsageTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> listener.invoked(method, args, invoke(method, target, args))));
+    }
+
+    private static DataSource recording(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) -> {
+            if (result instanceof Connection) {
+                return proxy(Connection.class, (Connection) result, IndexUsageTest::prepared);
+            }
+            return result;
+        });
+    }
+
+    private static Object prepared(Method method, Object[] args, Object result) {
+        if (!method.getName().equals("prepareStatement")) {
+            return result;
+        }
+        RecordedStatement statement = new RecordedStatement((String) args[0]);
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(statement);
+        }
+        return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, setterArgs, setterResult) -> {
+            if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                    && setterArgs[0] instanceof Integer) {
+                statement.parameters.add(new ParameterCall(setter, setterArgs));
+            }
+            return setterResult;
+        });
+    }
+
+    private static void seed() {
+        LocalDateTime now = NOW;
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long itemId = 0;
+        long bookingId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "user" + userId, "user" + userId + "@mail.ru"});
+            for (int i = 0; i < REQUESTS_PER_USER; i++) {
+                long requestId = (userId - 1) * REQUESTS_PER_USER + i + 1;
+                requests.add(new Object[]{requestId, "request" + requestId, userId,
+                        Timestamp.valueOf(now.minusHours(requestId))});
+            }
+        }
+        for (long ownerId = 1; ownerId <= USERS; ownerId++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                Long requestId = itemId % 4 == 0 ? itemId % (USERS * REQUESTS_PER_USER) + 1 : null;
+                items.add(new Object[]{itemId, "item" + itemId, "description" + itemId, true, ownerId, requestId});
+                long bookerId = ownerId % USERS + 1;
+                comments.add(new Object[]{itemId, "comment" + itemId, itemId, bookerId});
+                for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                    bookingId++;
+                    LocalDateTime start = now.plusDays(j - 2).plusHours(bookingId % 24);
+                    String status = j % 3 == 0 ? "WAITING" : j % 3 == 1 ? "APPROVED" : "REJECTED";
+                    bookings.add(new Object[]{bookingId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                            itemId, bookerId, ownerId, status});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into item_requests (id, description, requestor_id, created) values (?, ?, ?, ?)",
+                requests);
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "values (?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into comments (id, text, item_id, author_id) values (?, ?, ?, ?)", comments);
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? recording((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    private interface StatementListener {
+        Object invoked(Method method, Object[] args, Object result);
+    }
+
+    private static class RecordedStatement {
+        private final String sql;
+        private final List<ParameterCall> parameters = new ArrayList<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private static class ParameterCall {
+        private final Method method;
+        private final Object[] args;
+
+        private ParameterCall(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
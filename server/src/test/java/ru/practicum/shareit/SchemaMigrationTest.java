@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Disabled
+class SchemaMigrationTest {
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Повторный запуск миграций не пересоздает таблицы и не удаляет данные")
+    void migrateTwiceKeepsData() {
+        assertEquals(6, flyway().migrate().migrationsExecuted);
+        jdbcTemplate.update("insert into users (name, email) values ('user', 'user@mail.ru')");
+
+        assertEquals(0, flyway().migrate().migrationsExecuted);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from users", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Существующая схема принимается за базовую версию, следующие миграции применяются поверх нее")
+    void migrateExistingSchemaFromBaseline() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__create_tables.sql"))
+                .execute(dataSource);
+        jdbcTemplate.update("insert into users (name, email) values ('user', 'user@mail.ru')");
+
+        assertEquals(5, flyway().migrate().migrationsExecuted);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from users", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from pg_indexes where indexname = 'bookings_booker_id_start_date_idx'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Подтвержденные бронирования одной вещи не могут пересекаться по датам")
+    void approvedBookingsOfItemDoNotOverlap() {
+        flyway().migrate();
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'user', 'user@mail.ru')");
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id) " +
+                "values (1, 'item', 'item', true, 1), (2, 'item', 'item', true, 1)");
+        String insert = "insert into bookings (start_date, end_date, item_id, booker_id, status) values (?::timestamp, ?::timestamp, ?, 1, ?)";
+        jdbcTemplate.update(insert, "2030-01-01 00:00", "2030-01-05 00:00", 1, "APPROVED");
+        jdbcTemplate.update(insert, "2030-01-05 00:00", "2030-01-07 00:00", 1, "APPROVED");
+        jdbcTemplate.update(insert, "2030-01-03 00:00", "2030-01-04 00:00", 1, "WAITING");
+        jdbcTemplate.update(insert, "2030-01-03 00:00", "2030-01-04 00:00", 2, "APPROVED");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(insert, "2030-01-04 00:00", "2030-01-06 00:00", 1, "APPROVED"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("update bookings set status = 'APPROVED' where status = 'WAITING'"));
+    }
+
+    @Test
+    @DisplayName("Владелец вещи заполняется в существующих бронированиях")
+    void backfillBookingOwner() {
+        flyway("5").migrate();
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru'), (2, 'booker', 'booker@mail.ru')");
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id) values (1, 'item', 'item', true, 1)");
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (timestamp '2030-01-01 00:00', timestamp '2030-01-02 00:00', 1, 2, 'WAITING')");
+
+        assertEquals(1, flyway().migrate().migrationsExecuted);
+        assertEquals(1, jdbcTemplate.queryForObject("select owner_id from bookings", Integer.class));
+    }
+
+    private Flyway flyway() {
+        return flyway("latest");
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .target(target)
+                .load();
+    }
+}
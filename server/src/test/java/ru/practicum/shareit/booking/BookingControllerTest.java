@@ -14,9 +14,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.nio.charset.StandardCharsets;
@@ -25,6 +30,7 @@ import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -158,4 +164,76 @@ class BookingControllerTest {
 
         Mockito.verify(bookingService).getAllBookingsForItemsByOwnerId(Mockito.anyLong(), Mockito.anyString(), Mockito.any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение страницы бронирований текущего пользователя по курсору")
+    void getBookingsByBookerIdWithCursor() throws Exception {
+        long userId = 1L;
+        BookingFullDto bookingFullDto = random.nextObject(BookingFullDto.class);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        when(bookingService.getBookingsByBookerId(Mockito.anyLong(), Mockito.anyString(), Mockito.any(BookingCursor.class), Mockito.anyInt()))
+                .thenReturn(List.of(bookingFullDto));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", cursor.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingFullDto.getId()))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingFullDto).encode()));
+
+        Mockito.verify(bookingService).getBookingsByBookerId(userId, "ALL", cursor, 1);
+    }
+
+    @Test
+    @DisplayName("Некорректный курсор")
+    void getAllBookingsForItemsByOwnerIdWithInvalidCursor() throws Exception {
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.ALL_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Получение количества бронирований владельца вещей по состояниям")
+    void getBookingSummaryForItemsByOwnerId() throws Exception {
+        BookingSummaryDto summary = new BookingSummaryDto(7, 1, 3, 3, 2, 1, 1);
+
+        when(bookingService.getBookingSummaryForItemsByOwnerId(1L)).thenReturn(summary);
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(7))
+                .andExpect(jsonPath("$.future").value(3))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.canceled").value(1));
+    }
+
+    @Test
+    @DisplayName("Подтверждение и отклонение нескольких бронирований владельцем вещей")
+    void approvedOrRejectedBookings() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+        List<BookingDecisionResultDto> results = List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(2L, BookingDecisionResultDto.Result.NOT_WAITING, StatusBooking.APPROVED));
+
+        when(bookingService.approvedOrRejectedBookings(1L, decisions)).thenReturn(results);
+
+        mvc.perform(patch("/bookings/owner/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].result").value("UPDATED"))
+                .andExpect(jsonPath("$[1].result").value("NOT_WAITING"))
+                .andExpect(jsonPath("$[1].status").value("APPROVED"));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, BookingIntervalIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Disabled
+class BookingDecisionPostgresTest {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("truncate bookings, items, users cascade");
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru'), " +
+                "(2, 'booker', 'booker@mail.ru')");
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id) " +
+                "values (1, 'item', 'item', true, 1), (2, 'other', 'other', true, 1)");
+        String insert = "insert into bookings (id, start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "values (?, ?, ?, ?, 2, 1, ?)";
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        jdbcTemplate.update(insert, 1, start, start.plusDays(2), 1, "WAITING");
+        jdbcTemplate.update(insert, 2, start.plusDays(1), start.plusDays(3), 1, "WAITING");
+        jdbcTemplate.update(insert, 3, start, start.plusDays(1), 2, "WAITING");
+        jdbcTemplate.update(insert, 4, start.plusDays(2), start.plusDays(3), 2, "APPROVED");
+        jdbcTemplate.update(insert, 5, start.plusDays(2), start.plusDays(4), 2, "WAITING");
+    }
+
+    @Test
+    @DisplayName("Бронирование, пересекающееся с подтвержденным в базе, возвращается как конфликт, остальные применяются")
+    void approvedOrRejectedBookingsReportsConflictWithApprovedBooking() {
+        List<BookingDecisionResultDto> results = bookingService.approvedOrRejectedBookings(1L, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(3L, true),
+                new BookingDecisionDto(5L, true)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(3L, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(5L, BookingDecisionResultDto.Result.CONFLICT, StatusBooking.WAITING)), results);
+    }
+
+    @Test
+    @DisplayName("Подтверждение другим экземпляром во время пакетной обработки возвращается как конфликт для этого бронирования")
+    void approvedOrRejectedBookingsReportsConflictWithConcurrentApproval() {
+        CompletableFuture<List<BookingDecisionResultDto>> batch = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.queryForList("select id from items where id = 1 for update", Long.class);
+            jdbcTemplate.update("update bookings set status = 'APPROVED' where id = 2");
+            CompletableFuture<List<BookingDecisionResultDto>> future = CompletableFuture.supplyAsync(() ->
+                    bookingService.approvedOrRejectedBookings(1L, List.of(
+                            new BookingDecisionDto(1L, true),
+                            new BookingDecisionDto(3L, true))));
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return future;
+        });
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionResultDto.Result.CONFLICT, StatusBooking.WAITING),
+                new BookingDecisionResultDto(3L, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED)), batch.join());
+        assertEquals(List.of("WAITING", "APPROVED", "APPROVED", "APPROVED", "WAITING"),
+                jdbcTemplate.queryForList("select status from bookings order by id", String.class));
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.booking;
+
+import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Disabled
+class BookingIntervalIndexTest {
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private BookingRepository bookingRepository;
+    private final EasyRandom random = new EasyRandom();
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+        item = random.nextObject(Item.class);
+    }
+
+    @Test
+    @DisplayName("Бронирование пересекается только с бронированиями, даты которых перекрываются")
+    void addIfFree() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(createBooking(1L, start, start.plusDays(10), StatusBooking.APPROVED),
+                        createBooking(2L, start.plusDays(20), start.plusDays(21), StatusBooking.WAITING)));
+
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start.minusDays(2), start,
+                () -> createBooking(3L, start.minusDays(2), start, StatusBooking.WAITING)).isPresent());
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(9), start.plusDays(11),
+                () -> createBooking(4L, start.plusDays(9), start.plusDays(11), StatusBooking.WAITING)).isPresent());
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(1), start.plusDays(2),
+                () -> createBooking(4L, start.plusDays(1), start.plusDays(2), StatusBooking.WAITING)).isPresent());
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(15), start.plusDays(25),
+                () -> createBooking(4L, start.plusDays(15), start.plusDays(25), StatusBooking.WAITING)).isPresent());
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.minusDays(1), start.plusHours(1),
+                () -> createBooking(4L, start.minusDays(1), start.plusHours(1), StatusBooking.WAITING)).isPresent());
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(10), start.plusDays(20),
+                () -> createBooking(5L, start.plusDays(10), start.plusDays(20), StatusBooking.WAITING)).isPresent());
+        Mockito.verify(bookingRepository).findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Подтверждение и отклонение бронирования обновляют индекс")
+    void approveAndReject() {
+        Booking first = createBooking(1L, start, start.plusDays(5), StatusBooking.WAITING);
+        Booking second = createBooking(2L, start.plusDays(3), start.plusDays(8), StatusBooking.WAITING);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(first, second));
+
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(1), start.plusDays(2),
+                () -> createBooking(3L, start.plusDays(1), start.plusDays(2), StatusBooking.WAITING)).isPresent());
+
+        bookingIntervalIndex.approve(first);
+        bookingIntervalIndex.reject(second);
+
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(1), start.plusDays(2),
+                () -> createBooking(3L, start.plusDays(1), start.plusDays(2), StatusBooking.WAITING)).isPresent());
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(5), start.plusDays(8),
+                () -> createBooking(3L, start.plusDays(5), start.plusDays(8), StatusBooking.WAITING)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Завершившиеся бронирования удаляются из индекса и не мешают новым")
+    void addIfFreeDropsEndedBookings() {
+        LocalDateTime past = LocalDateTime.now().minusDays(10);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(createBooking(1L, past, past.plusDays(1), StatusBooking.APPROVED)));
+
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), past, past.plusDays(1),
+                () -> createBooking(2L, past, past.plusDays(1), StatusBooking.WAITING)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Отклонение находит бронирование среди бронирований с одинаковой датой начала")
+    void rejectWithSameStart() {
+        Booking first = createBooking(1L, start, start.plusDays(1), StatusBooking.WAITING);
+        Booking second = createBooking(2L, start, start.plusDays(2), StatusBooking.WAITING);
+        Booking third = createBooking(3L, start, start.plusDays(3), StatusBooking.WAITING);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(third, first, second));
+
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(2), start.plusDays(4),
+                () -> createBooking(4L, start.plusDays(2), start.plusDays(4), StatusBooking.WAITING)).isPresent());
+
+        bookingIntervalIndex.reject(third);
+
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(2), start.plusDays(4),
+                () -> createBooking(4L, start.plusDays(2), start.plusDays(4), StatusBooking.WAITING)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Пересечение находится, даже если между датами лежит вложенное короткое бронирование")
+    void addIfFreeWithNestedBookings() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(createBooking(1L, start, start.plusDays(10), StatusBooking.APPROVED),
+                        createBooking(2L, start.plusDays(1), start.plusDays(2), StatusBooking.WAITING),
+                        createBooking(3L, start.plusDays(3), start.plusDays(4), StatusBooking.WAITING)));
+
+        assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(5), start.plusDays(6),
+                () -> createBooking(4L, start.plusDays(5), start.plusDays(6), StatusBooking.WAITING)).isPresent());
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start.plusDays(10), start.plusDays(11),
+                () -> createBooking(4L, start.plusDays(10), start.plusDays(11), StatusBooking.WAITING)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Даты резервируются до сохранения бронирования и освобождаются при ошибке сохранения")
+    void addIfFreeReleasesReservationWhenSaveFails() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> bookingIntervalIndex.addIfFree(item.getId(), start, start.plusDays(1),
+                () -> {
+                    assertFalse(bookingIntervalIndex.addIfFree(item.getId(), start, start.plusDays(1),
+                            () -> createBooking(2L, start, start.plusDays(1), StatusBooking.WAITING)).isPresent());
+                    throw new IllegalStateException("save failed");
+                }));
+
+        assertTrue(bookingIntervalIndex.addIfFree(item.getId(), start, start.plusDays(1),
+                () -> createBooking(2L, start, start.plusDays(1), StatusBooking.WAITING)).isPresent());
+    }
+
+    private Booking createBooking(long id, LocalDateTime start, LocalDateTime end, StatusBooking status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -3,10 +3,17 @@ package ru.practicum.shareit.booking;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.booking.model.StateBooking;
 import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -15,6 +22,13 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,208 +45,214 @@ class BookingRepositoryTest {
     private final EasyRandom random = new EasyRandom();
 
     @Test
-    void existsBookingByIdAndItem_OwnerId() {
+    void updateStatusByIdAndOwnerId() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-
-        assertTrue(bookingRepository.existsBookingByIdAndItem_OwnerId(booking.getId(), owner.getId()));
-    }
-
-    @Test
-    void existsBookingByIdAndStatusNot() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-
-        assertTrue(bookingRepository.existsBookingByIdAndStatusNot(booking.getId(), StatusBooking.REJECTED));
+        Booking booking = createBooking(item, booker, LocalDateTime.now().plusDays(1), StatusBooking.WAITING);
+
+        assertEquals(0, bookingRepository.updateStatusByIdAndOwnerId(
+                booking.getId(), booker.getId(), StatusBooking.APPROVED, StatusBooking.WAITING));
+        assertEquals(1, bookingRepository.updateStatusByIdAndOwnerId(
+                booking.getId(), owner.getId(), StatusBooking.APPROVED, StatusBooking.WAITING));
+        assertEquals(0, bookingRepository.updateStatusByIdAndOwnerId(
+                booking.getId(), owner.getId(), StatusBooking.REJECTED, StatusBooking.WAITING));
+        assertEquals(StatusBooking.APPROVED, bookingRepository.findBookingById(booking.getId()).get().getStatus());
     }
 
     @Test
-    void existsBookingByBookerIdAndItemIdAndStatusAndStartBefore() {
+    void updateStatusByIdInAndOwnerId() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        booking.setStart(start);
-
-        assertTrue(bookingRepository.existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(
-                booker.getId(), item.getId(), StatusBooking.WAITING, LocalDateTime.now()));
-    }
-
-    @Test
-    void findAllByBookerIdOrderByStartDesc() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        createBooking(item, booker);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByBookerIdOrderByStartDesc(booker.getId(), pageable).size());
-    }
-
-    @Test
-    void findAllByBookerIdAndStatusOrderByStartDesc() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        createBooking(item, booker);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(booker.getId(), StatusBooking.WAITING, pageable).size());
-    }
-
-    @Test
-    void findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(1);
-        booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                booker.getId(), LocalDateTime.now(), LocalDateTime.now(), pageable).size());
-    }
-
-    @Test
-    void findAllByBookerIdAndEndBeforeOrderByStartDesc() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().minusDays(2);
-        LocalDateTime end = LocalDateTime.now().minusDays(1);
-        booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                booker.getId(), LocalDateTime.now(), pageable).size());
-    }
-
-    @Test
-    void findAllByBookerIdAndStartAfterOrderByStartDesc() {
-        User owner = createUser();
-        User booker = createUser();
-        Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
         LocalDateTime start = LocalDateTime.now().plusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(2);
-        booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                booker.getId(), LocalDateTime.now(), pageable).size());
+        Booking waiting = createBooking(item, booker, start, StatusBooking.WAITING);
+        Booking approved = createBooking(item, booker, start.plusDays(1), StatusBooking.APPROVED);
+        Booking foreign = createBooking(createItem(booker), owner, start, StatusBooking.WAITING);
+        List<Long> ids = List.of(waiting.getId(), approved.getId(), foreign.getId());
+
+        assertEquals(List.of(waiting), bookingRepository.findAllByIdInAndOwnerIdAndStatus(
+                ids, owner.getId(), StatusBooking.WAITING));
+        assertEquals(1, bookingRepository.updateStatusByIdInAndOwnerId(
+                ids, owner.getId(), StatusBooking.REJECTED, StatusBooking.WAITING));
+        assertEquals(List.of(StatusBooking.REJECTED, StatusBooking.APPROVED, StatusBooking.WAITING),
+                bookingRepository.findAllByIdIn(ids).stream()
+                        .sorted(Comparator.comparing(booking -> ids.indexOf(booking.getId())))
+                        .map(Booking::getStatus)
+                        .collect(Collectors.toList()));
     }
 
     @Test
-    void findAllByItem_OwnerIdOrderByStartDesc() {
+    void findIdsOverlappingStatus() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
-        createBooking(item, booker);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(
-                owner.getId(), pageable).size());
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        createBooking(item, booker, start, start.plusDays(2), StatusBooking.APPROVED);
+        Booking overlapping = createBooking(item, booker, start.plusDays(1), start.plusDays(3), StatusBooking.WAITING);
+        Booking adjacent = createBooking(item, booker, start.plusDays(2), start.plusDays(3), StatusBooking.WAITING);
+        Booking otherItem = createBooking(createItem(owner), booker, start, start.plusDays(1), StatusBooking.WAITING);
+
+        assertEquals(List.of(overlapping.getId()), bookingRepository.findIdsOverlappingStatus(
+                List.of(overlapping.getId(), adjacent.getId(), otherItem.getId()), StatusBooking.APPROVED));
     }
 
     @Test
-    void findAllByItem_OwnerIdAndStatusOrderByStartDesc() {
+    void findIntervalsByItemIdAndStatusIn() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
-        createBooking(item, booker);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(
-                owner.getId(), StatusBooking.WAITING, pageable).size());
+        LocalDateTime from = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(10);
+        createBooking(item, booker, from.minusDays(2), from.minusDays(1), StatusBooking.APPROVED);
+        Booking overlapsFrom = createBooking(item, booker, from.minusDays(1), from.plusDays(1), StatusBooking.APPROVED);
+        Booking inside = createBooking(item, booker, from.plusDays(3), from.plusDays(4), StatusBooking.WAITING);
+        createBooking(item, booker, from.plusDays(5), from.plusDays(6), StatusBooking.REJECTED);
+        createBooking(createItem(owner), booker, from.plusDays(5), from.plusDays(6), StatusBooking.APPROVED);
+        createBooking(item, booker, to, to.plusDays(1), StatusBooking.WAITING);
+
+        assertEquals(List.of(new BookingInterval(overlapsFrom.getStart(), overlapsFrom.getEnd()),
+                        new BookingInterval(inside.getStart(), inside.getEnd())),
+                bookingRepository.findIntervalsByItemIdAndStatusIn(
+                        item.getId(), List.of(StatusBooking.APPROVED, StatusBooking.WAITING), from, to));
     }
 
     @Test
-    void findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
+    void existsBookingByBookerIdAndItemIdAndStatusAndStartBefore() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
         Booking booking = createBooking(item, booker);
         LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(1);
         booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
 
-        assertEquals(1, bookingRepository.findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                owner.getId(), LocalDateTime.now(), LocalDateTime.now(), pageable).size());
+        assertTrue(bookingRepository.existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(
+                booker.getId(), item.getId(), StatusBooking.WAITING, LocalDateTime.now()));
     }
 
     @Test
-    void findAllByItem_OwnerIdAndEndBeforeOrderByStartDesc() {
+    void findLastAndNextBookingsByItemIdIn() {
         User owner = createUser();
         User booker = createUser();
-        Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().minusDays(2);
-        LocalDateTime end = LocalDateTime.now().minusDays(1);
-        booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByItem_OwnerIdAndEndBeforeOrderByStartDesc(
-                owner.getId(), LocalDateTime.now(), pageable).size());
+        Item item1 = createItem(owner);
+        Item item2 = createItem(owner);
+        LocalDateTime currentTime = LocalDateTime.now();
+        createBooking(item1, booker, currentTime.minusDays(3), StatusBooking.APPROVED);
+        Booking lastBooking1 = createBooking(item1, booker, currentTime.minusDays(1), StatusBooking.APPROVED);
+        Booking nextBooking1 = createBooking(item1, booker, currentTime.plusDays(1), StatusBooking.WAITING);
+        createBooking(item1, booker, currentTime.plusDays(3), StatusBooking.APPROVED);
+        createBooking(item2, booker, currentTime.minusDays(1), StatusBooking.REJECTED);
+        Booking nextBooking2 = createBooking(item2, booker, currentTime.plusDays(2), StatusBooking.APPROVED);
+
+        List<Booking> bookings = bookingRepository.findLastAndNextBookingsByItemIdIn(
+                List.of(item1.getId(), item2.getId()), StatusBooking.REJECTED, currentTime);
+
+        assertEquals(3, bookings.size());
+        assertTrue(bookings.containsAll(List.of(lastBooking1, nextBooking1, nextBooking2)));
     }
 
-    @Test
-    void findAllByItem_OwnerIdAndStartAfterOrderByStartDesc() {
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("bookingsByRoleAndState")
+    void findAllByState(BookingRole role, StateBooking state, List<String> expected) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         User owner = createUser();
         User booker = createUser();
+        User other = createUser();
         Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().plusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(2);
-        booking.setStart(start);
-        booking.setEnd(end);
-        Pageable pageable = Pageable.ofSize(20);
-
-        assertEquals(1, bookingRepository.findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(
-                owner.getId(), LocalDateTime.now(), pageable).size());
+        Item otherItem = createItem(other);
+        Map<String, Booking> bookings = Map.of(
+                "past", createBooking(item, booker, now.minusDays(3), now.minusDays(2), StatusBooking.APPROVED),
+                "current", createBooking(item, booker, now.minusDays(1), now.plusDays(1), StatusBooking.APPROVED),
+                "futureWaiting", createBooking(item, booker, now.plusDays(2), now.plusDays(3), StatusBooking.WAITING),
+                "futureRejected", createBooking(item, booker, now.plusDays(4), now.plusDays(5), StatusBooking.REJECTED),
+                "otherItem", createBooking(otherItem, booker, now.plusDays(6), now.plusDays(7), StatusBooking.WAITING),
+                "otherBooker", createBooking(item, other, now.minusDays(5), now.minusDays(4), StatusBooking.REJECTED),
+                "canceled", createBooking(item, booker, now.minusDays(7), now.minusDays(6), StatusBooking.CANCELED));
+        long userId = role == BookingRole.OWNER ? owner.getId() : booker.getId();
+        List<Booking> expectedBookings = expected.stream()
+                .map(bookings::get)
+                .collect(Collectors.toList());
+
+        List<Booking> pages = new ArrayList<>();
+        List<Booking> page = bookingRepository.findAllByStateAfterCursor(
+                role, userId, state, now, now.plusYears(1), Long.MAX_VALUE, 2);
+        while (!page.isEmpty()) {
+            pages.addAll(page);
+            Booking last = page.get(page.size() - 1);
+            page = bookingRepository.findAllByStateAfterCursor(
+                    role, userId, state, now, last.getStart(), last.getId(), 2);
+        }
+
+        assertEquals(expectedBookings, bookingRepository.findAllByState(role, userId, state, now, Pageable.ofSize(20)));
+        assertEquals(expectedBookings, pages);
     }
 
     @Test
-    void findFirstBookingByItemIdAndStatusNotAndStartBeforeOrderByStartDesc() {
+    void getSummaryByBookerIdAndOwnerId() {
+        LocalDateTime now = LocalDateTime.now();
         User owner = createUser();
         User booker = createUser();
+        User other = createUser();
         Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(1);
-        booking.setStart(start);
-        booking.setEnd(end);
+        createBooking(item, booker, now.minusDays(3), now.minusDays(2), StatusBooking.APPROVED);
+        createBooking(item, booker, now.minusDays(1), now.plusDays(1), StatusBooking.APPROVED);
+        createBooking(item, booker, now.plusDays(2), now.plusDays(3), StatusBooking.WAITING);
+        createBooking(item, other, now.plusDays(4), now.plusDays(5), StatusBooking.REJECTED);
+        createBooking(createItem(other), booker, now.plusDays(6), now.plusDays(7), StatusBooking.WAITING);
+        createBooking(item, booker, now.minusDays(5), now.minusDays(4), StatusBooking.CANCELED);
+
+        BookingSummary bookerSummary = bookingRepository.getSummaryByBookerId(booker.getId(), now);
+        BookingSummary ownerSummary = bookingRepository.getSummaryByOwnerId(owner.getId(), now);
+
+        assertEquals(List.of(5L, 1L, 2L, 2L, 2L, 0L, 1L), List.of(bookerSummary.getAll(), bookerSummary.getCurrent(),
+                bookerSummary.getPast(), bookerSummary.getFuture(), bookerSummary.getWaiting(), bookerSummary.getRejected(),
+                bookerSummary.getCanceled()));
+        assertEquals(List.of(5L, 1L, 2L, 2L, 1L, 1L, 1L), List.of(ownerSummary.getAll(), ownerSummary.getCurrent(),
+                ownerSummary.getPast(), ownerSummary.getFuture(), ownerSummary.getWaiting(), ownerSummary.getRejected(),
+                ownerSummary.getCanceled()));
+    }
 
-        assertEquals(booking, bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartBeforeOrderByStartDesc(
-                item.getId(), StatusBooking.REJECTED, LocalDateTime.now()).get());
+    static Stream<Arguments> bookingsByRoleAndState() {
+        return Stream.of(
+                Arguments.of(BookingRole.BOOKER, StateBooking.ALL,
+                        List.of("otherItem", "futureRejected", "futureWaiting", "current", "past", "canceled")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.CURRENT, List.of("current")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.PAST, List.of("past", "canceled")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.FUTURE,
+                        List.of("otherItem", "futureRejected", "futureWaiting")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.WAITING, List.of("otherItem", "futureWaiting")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.REJECTED, List.of("futureRejected")),
+                Arguments.of(BookingRole.BOOKER, StateBooking.CANCELED, List.of("canceled")),
+                Arguments.of(BookingRole.OWNER, StateBooking.ALL,
+                        List.of("futureRejected", "futureWaiting", "current", "past", "otherBooker", "canceled")),
+                Arguments.of(BookingRole.OWNER, StateBooking.CURRENT, List.of("current")),
+                Arguments.of(BookingRole.OWNER, StateBooking.PAST, List.of("past", "otherBooker", "canceled")),
+                Arguments.of(BookingRole.OWNER, StateBooking.FUTURE, List.of("futureRejected", "futureWaiting")),
+                Arguments.of(BookingRole.OWNER, StateBooking.WAITING, List.of("futureWaiting")),
+                Arguments.of(BookingRole.OWNER, StateBooking.REJECTED, List.of("futureRejected", "otherBooker")),
+                Arguments.of(BookingRole.OWNER, StateBooking.CANCELED, List.of("canceled")));
     }
 
     @Test
-    void findFirstBookingByItemIdAndStatusNotAndStartAfterOrderByStart() {
+    void findAllByStateAfterCursor() {
         User owner = createUser();
         User booker = createUser();
         Item item = createItem(owner);
-        Booking booking = createBooking(item, booker);
-        LocalDateTime start = LocalDateTime.now().plusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(2);
-        booking.setStart(start);
-        booking.setEnd(end);
-
-        assertEquals(booking, bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartAfterOrderByStart(
-                item.getId(), StatusBooking.REJECTED, LocalDateTime.now()).get());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = createBooking(item, booker, start.plusDays(1), StatusBooking.APPROVED);
+        Booking second = createBooking(item, booker, start, StatusBooking.WAITING);
+        Booking third = createBooking(item, booker, start, StatusBooking.APPROVED);
+        Booking fourth = createBooking(item, booker, start.minusDays(1), StatusBooking.REJECTED);
+
+        List<Booking> page = bookingRepository.findAllByStateAfterCursor(BookingRole.BOOKER,
+                booker.getId(), StateBooking.ALL, LocalDateTime.now(), first.getStart(), first.getId() + 1, 2);
+        List<Booking> nextPage = bookingRepository.findAllByStateAfterCursor(BookingRole.BOOKER,
+                booker.getId(), StateBooking.ALL, LocalDateTime.now(), third.getStart(), third.getId(), 2);
+
+        assertEquals(List.of(first, third), page);
+        assertEquals(List.of(second, fourth), nextPage);
+        assertEquals(List.of(fourth), bookingRepository.findAllByStateAfterCursor(BookingRole.OWNER,
+                owner.getId(), StateBooking.REJECTED, LocalDateTime.now(), start, second.getId(), 2));
     }
 
     @Test
@@ -273,10 +293,28 @@ class BookingRepositoryTest {
     private Booking createBooking(Item item, User booker) {
         Booking booking = random.nextObject(Booking.class);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
         return bookingRepository.save(booking);
     }
 
+    private Booking createBooking(Item item, User booker, LocalDateTime start, StatusBooking status) {
+        Booking booking = random.nextObject(Booking.class);
+        booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(1));
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, StatusBooking status) {
+        Booking booking = createBooking(item, booker, start, status);
+        booking.setEnd(end);
+        return booking;
+    }
+
     private Item createItem(User owner) {
         Item item = random.nextObject(Item.class);
         item.setOwner(owner);
@@ -9,7 +9,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -17,6 +22,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -27,6 +33,8 @@ public class BookingServiceImplIntegrationTest {
     @Autowired
     private BookingService bookingService;
     @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
@@ -56,4 +64,88 @@ public class BookingServiceImplIntegrationTest {
         assertEquals(bookingCreateDto.getStart(), bookingFullDto.getStart());
         assertEquals(bookingCreateDto.getEnd(), bookingFullDto.getEnd());
     }
+
+    @Test
+    @DirtiesContext
+    @DisplayName("Подтверждение и отклонение нескольких бронирований владельцем вещей")
+    void approvedOrRejectedBookings() {
+        User owner = userRepository.save(random.nextObject(User.class));
+        User otherOwner = userRepository.save(random.nextObject(User.class));
+        User booker = userRepository.save(random.nextObject(User.class));
+        Item item = createItem(owner);
+        Item otherItem = createItem(otherOwner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long approved = addBooking(booker, item, start);
+        long rejected = addBooking(booker, createItem(owner), start);
+        long notWaiting = addBooking(booker, item, start.plusDays(5));
+        long foreign = addBooking(booker, otherItem, start);
+        bookingService.approvedOrRejectedBooking(owner.getId(), notWaiting, true);
+
+        List<BookingDecisionResultDto> results = bookingService.approvedOrRejectedBookings(owner.getId(), List.of(
+                new BookingDecisionDto(approved, true),
+                new BookingDecisionDto(rejected, false),
+                new BookingDecisionDto(notWaiting, false),
+                new BookingDecisionDto(foreign, true),
+                new BookingDecisionDto(Long.MAX_VALUE, true)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(approved, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(rejected, BookingDecisionResultDto.Result.UPDATED, StatusBooking.REJECTED),
+                new BookingDecisionResultDto(notWaiting, BookingDecisionResultDto.Result.NOT_WAITING, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(foreign, BookingDecisionResultDto.Result.NOT_FOUND, null),
+                new BookingDecisionResultDto(Long.MAX_VALUE, BookingDecisionResultDto.Result.NOT_FOUND, null)), results);
+        assertEquals(StatusBooking.WAITING, bookingService.getBookingById(booker.getId(), foreign).getStatus());
+    }
+
+    @Test
+    @DirtiesContext
+    @DisplayName("Пересекающиеся бронирования при подтверждении нескольких бронирований возвращаются как конфликт")
+    void approvedOrRejectedBookingsWithOverlaps() {
+        User owner = userRepository.save(random.nextObject(User.class));
+        User booker = userRepository.save(random.nextObject(User.class));
+        Item item = createItem(owner);
+        Item otherItem = createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        saveBooking(booker, otherItem, start, StatusBooking.APPROVED);
+        long first = saveBooking(booker, item, start, StatusBooking.WAITING);
+        long overlapsFirst = saveBooking(booker, item, start.plusHours(12), StatusBooking.WAITING);
+        long overlapsApproved = saveBooking(booker, otherItem, start.plusHours(12), StatusBooking.WAITING);
+        long rejected = saveBooking(booker, item, start.plusHours(6), StatusBooking.WAITING);
+
+        List<BookingDecisionResultDto> results = bookingService.approvedOrRejectedBookings(owner.getId(), List.of(
+                new BookingDecisionDto(first, true),
+                new BookingDecisionDto(overlapsFirst, true),
+                new BookingDecisionDto(overlapsApproved, true),
+                new BookingDecisionDto(rejected, false)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(first, BookingDecisionResultDto.Result.UPDATED, StatusBooking.APPROVED),
+                new BookingDecisionResultDto(overlapsFirst, BookingDecisionResultDto.Result.CONFLICT, StatusBooking.WAITING),
+                new BookingDecisionResultDto(overlapsApproved, BookingDecisionResultDto.Result.CONFLICT, StatusBooking.WAITING),
+                new BookingDecisionResultDto(rejected, BookingDecisionResultDto.Result.UPDATED, StatusBooking.REJECTED)), results);
+    }
+
+    private Item createItem(User owner) {
+        Item item = random.nextObject(Item.class);
+        item.setOwner(owner);
+        item.setRequest(null);
+        item.setAvailable(true);
+        return itemRepository.save(item);
+    }
+
+    private long saveBooking(User booker, Item item, LocalDateTime start, StatusBooking status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking).getId();
+    }
+
+    private long addBooking(User booker, Item item, LocalDateTime start) {
+        BookingCreateDto bookingCreateDto = new BookingCreateDto(null, start, start.plusDays(1), item.getId());
+        return bookingService.addBooking(booker.getId(), bookingCreateDto).getId();
+    }
 }
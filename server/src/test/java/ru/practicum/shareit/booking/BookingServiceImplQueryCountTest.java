@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StateBooking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingServiceImpl.class, BookingIntervalIndex.class})
+@Disabled
+class BookingServiceImplQueryCountTest {
+    private static final int BOOKINGS_COUNT = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private final EasyRandom random = new EasyRandom();
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createUser();
+        booker = createUser();
+        LocalDateTime now = LocalDateTime.now();
+        StatusBooking[] statuses = StatusBooking.values();
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            User requestor = createUser();
+            Item item = createItem(owner, createRequest(requestor));
+            LocalDateTime start = now.plusDays(i - BOOKINGS_COUNT / 2);
+            createBooking(item, createUser(), start, start.plusHours(1), statuses[i % statuses.length]);
+            createBooking(item, booker, start.minusHours(1), start.plusDays(1), statuses[i % statuses.length]);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StateBooking.class, names = "UNSUPPORTED_STATUS", mode = EnumSource.Mode.EXCLUDE)
+    @DisplayName("Количество запросов при получении бронирований не зависит от размера страницы")
+    void getBookingsExecutesConstantNumberOfStatements(StateBooking state) {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+
+        for (int size : new int[]{1, 5, BOOKINGS_COUNT}) {
+            assertStatementCount(() -> bookingService.getBookingsByBookerId(
+                    booker.getId(), state.name(), Pageable.ofSize(size)));
+            assertStatementCount(() -> bookingService.getAllBookingsForItemsByOwnerId(
+                    owner.getId(), state.name(), Pageable.ofSize(size)));
+            assertStatementCount(() -> bookingService.getBookingsByBookerId(
+                    booker.getId(), state.name(), cursor, size));
+            assertStatementCount(() -> bookingService.getAllBookingsForItemsByOwnerId(
+                    owner.getId(), state.name(), cursor, size));
+        }
+    }
+
+    private void assertStatementCount(Supplier<List<BookingFullDto>> bookings) {
+        entityManager.clear();
+        statistics.clear();
+
+        bookings.get();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private User createUser() {
+        User user = random.nextObject(User.class);
+        user.setId(null);
+        return userRepository.save(user);
+    }
+
+    private ItemRequest createRequest(User requestor) {
+        ItemRequest itemRequest = random.nextObject(ItemRequest.class);
+        itemRequest.setId(null);
+        itemRequest.setRequestor(requestor);
+        return itemRequestRepository.save(itemRequest);
+    }
+
+    private Item createItem(User owner, ItemRequest request) {
+        Item item = random.nextObject(Item.class);
+        item.setId(null);
+        item.setOwner(owner);
+        item.setRequest(request);
+        return itemRepository.save(item);
+    }
+
+    private void createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, StatusBooking status) {
+        Booking booking = random.nextObject(Booking.class);
+        booking.setId(null);
+        booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
@@ -9,15 +9,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.booking.model.StateBooking;
 import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
@@ -25,6 +33,7 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -50,7 +59,8 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+                new BookingIntervalIndex(bookingRepository));
     }
 
     @Test
@@ -71,6 +81,30 @@ class BookingServiceImplTest {
         BookingFullDto bookingFromDb = bookingService.addBooking(booker.getId(), bookingCreateDto);
 
         assertEquals(bookingFullDto, bookingFromDb);
+        Mockito.verify(bookingRepository).save(Mockito.argThat(saved -> item.getOwner().getId().equals(saved.getOwnerId())));
+    }
+
+    @Test
+    @DisplayName("Получение ошибки при создании бронирования, когда даты пересекаются с другим бронированием вещи")
+    void shouldThrowExceptionWhenAddBookingIfDatesOverlapOtherBooking() {
+        Item item = random.nextObject(Item.class);
+        User booker = random.nextObject(User.class);
+        Booking approvedBooking = random.nextObject(Booking.class);
+        approvedBooking.setItem(item);
+        approvedBooking.setStart(tomorrow);
+        approvedBooking.setEnd(tomorrow.plusDays(2));
+        approvedBooking.setStatus(StatusBooking.APPROVED);
+        BookingCreateDto bookingCreateDto = new BookingCreateDto(1L, tomorrow.plusDays(1), tomorrow.plusDays(3), item.getId());
+
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(Mockito.eq(item.getId()), Mockito.anyCollection(), Mockito.any()))
+                .thenReturn(List.of(approvedBooking));
+
+        assertThrows(ValidationException.class, () -> bookingService.addBooking(booker.getId(), bookingCreateDto));
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
     }
 
     @Test
@@ -193,20 +227,41 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.existsBookingByIdAndItem_OwnerId(Mockito.anyLong(), Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.save(Mockito.any())).thenReturn(booking);
+        when(bookingRepository.updateStatusByIdAndOwnerId(booking.getId(), owner.getId(), StatusBooking.APPROVED,
+                StatusBooking.WAITING)).thenReturn(1);
+        when(bookingRepository.findBookingById(booking.getId())).thenReturn(Optional.of(booking));
 
-        booking.setStatus(StatusBooking.WAITING);
+        booking.setStatus(StatusBooking.APPROVED);
         BookingFullDto bookingFullDtoFromMethod = bookingService.approvedOrRejectedBooking(owner.getId(), booking.getId(), true);
         assertEquals(StatusBooking.APPROVED, bookingFullDtoFromMethod.getStatus());
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
+    }
 
-        booking.setStatus(StatusBooking.WAITING);
-        bookingFullDtoFromMethod = bookingService.approvedOrRejectedBooking(owner.getId(), booking.getId(), false);
-        assertEquals(StatusBooking.REJECTED, bookingFullDtoFromMethod.getStatus());
+    @Test
+    @DisplayName("Получение ошибки при подтверждении бронирования, пересекающегося с подтвержденным бронированием")
+    void shouldThrowExceptionWhenApprovedBookingOverlapsApprovedBooking() {
+        when(bookingRepository.updateStatusByIdAndOwnerId(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any(StatusBooking.class), Mockito.any(StatusBooking.class)))
+                .thenThrow(new org.springframework.dao.DataIntegrityViolationException("bookings_approved_overlap_excl",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.approvedOrRejectedBooking(1L, 2L, true));
+        Mockito.verify(bookingRepository, Mockito.never()).findBookingById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Другие нарушения целостности данных при подтверждении бронирования не считаются пересечением")
+    void shouldRethrowOtherIntegrityViolationWhenApprovedBooking() {
+        when(bookingRepository.updateStatusByIdAndOwnerId(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any(StatusBooking.class), Mockito.any(StatusBooking.class)))
+                .thenThrow(new org.springframework.dao.DataIntegrityViolationException("bookings_item_id_fkey",
+                        new SQLException("violates foreign key constraint", "23503")));
+
+        assertThrows(org.springframework.dao.DataIntegrityViolationException.class,
+                () -> bookingService.approvedOrRejectedBooking(1L, 2L, true));
     }
 
     @Test
@@ -218,9 +273,10 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(false);
+        when(bookingRepository.findBookingById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.approvedOrRejectedBooking(owner.getId(), booking.getId(), true));
     }
@@ -234,10 +290,10 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findBookingById(Mockito.anyLong())).thenReturn(Optional.of(booking));
 
         assertThrows(NotFoundException.class, () -> bookingService.approvedOrRejectedBooking(1L, booking.getId(), true));
     }
@@ -251,11 +307,12 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.existsBookingByIdAndStatusNot(Mockito.anyLong(), Mockito.any(StatusBooking.class))).thenReturn(true);
+        booking.setStatus(StatusBooking.APPROVED);
+
+        when(bookingRepository.findBookingById(Mockito.anyLong())).thenReturn(Optional.of(booking));
 
         assertThrows(ValidationException.class, () -> bookingService.approvedOrRejectedBooking(owner.getId(), booking.getId(), true));
     }
@@ -269,14 +326,14 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.existsBookingByIdAndStatusNot(Mockito.anyLong(), Mockito.any(StatusBooking.class))).thenReturn(false);
-        when(bookingRepository.existsBookingByIdAndItem_OwnerId(Mockito.anyLong(), Mockito.anyLong())).thenReturn(false);
+        booking.setStatus(StatusBooking.WAITING);
 
-        assertThrows(NotFoundException.class, () -> bookingService.approvedOrRejectedBooking(owner.getId(), booking.getId(), true));
+        when(bookingRepository.findBookingById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+
+        assertThrows(NotFoundException.class, () -> bookingService.approvedOrRejectedBooking(booker.getId(), booking.getId(), true));
     }
 
     @Test
@@ -288,6 +345,7 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
         when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
@@ -308,6 +366,7 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
         when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(false);
@@ -324,6 +383,7 @@ class BookingServiceImplTest {
         Booking booking = random.nextObject(Booking.class);
         item.setOwner(owner);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
 
         when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
@@ -343,16 +403,57 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.ALL), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "ALL", Pageable.ofSize(5)));
     }
 
+    @Test
+    @DisplayName("Получение страницы бронирований пользователя по курсору")
+    void getBookingsByBookerIdWithCursor() {
+        User owner = random.nextObject(User.class);
+        User booker = random.nextObject(User.class);
+        Item item = random.nextObject(Item.class);
+        item.setOwner(owner);
+        List<Booking> bookings = random.objects(Booking.class, 5)
+                .peek(booking -> {
+                    booking.setBooker(booker);
+                    booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
+                })
+                .collect(Collectors.toList());
+        List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByStateAfterCursor(Mockito.eq(BookingRole.BOOKER), Mockito.eq(booker.getId()),
+                Mockito.eq(StateBooking.PAST), Mockito.any(LocalDateTime.class), Mockito.eq(cursor.getStart()),
+                Mockito.eq(cursor.getId()), Mockito.eq(5))).thenReturn(bookings);
+
+        assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "PAST", cursor, 5));
+    }
+
+    @Test
+    @DisplayName("Получение страницы бронирований владельца вещи по курсору")
+    void getAllBookingsForItemsByOwnerIdWithCursor() {
+        User owner = random.nextObject(User.class);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByStateAfterCursor(Mockito.eq(BookingRole.OWNER), Mockito.eq(owner.getId()),
+                Mockito.eq(StateBooking.WAITING), Mockito.any(LocalDateTime.class), Mockito.eq(cursor.getStart()),
+                Mockito.eq(cursor.getId()), Mockito.eq(5))).thenReturn(List.of());
+
+        assertEquals(List.of(), bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "WAITING", cursor, 5));
+    }
+
     @Test
     @DisplayName("Получение всех текущих бронирований пользователя по id")
     void getCurrentBookingsByBookerId() {
@@ -364,13 +465,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.CURRENT), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "CURRENT", Pageable.ofSize(5)));
     }
@@ -386,13 +488,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.PAST), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "PAST", Pageable.ofSize(5)));
     }
@@ -408,13 +511,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.FUTURE), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "FUTURE", Pageable.ofSize(5)));
     }
@@ -430,13 +534,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.WAITING), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "WAITING", Pageable.ofSize(5)));
     }
@@ -452,13 +557,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.REJECTED), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getBookingsByBookerId(booker.getId(), "REJECTED", Pageable.ofSize(5)));
     }
@@ -490,12 +596,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.ALL), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "ALL", Pageable.ofSize(5)));
     }
@@ -511,13 +619,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.CURRENT), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "CURRENT", Pageable.ofSize(5)));
     }
@@ -533,13 +642,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdAndEndBeforeOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.PAST), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "PAST", Pageable.ofSize(5)));
     }
@@ -555,13 +665,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.FUTURE), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "FUTURE", Pageable.ofSize(5)));
     }
@@ -577,13 +688,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.WAITING), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "WAITING", Pageable.ofSize(5)));
     }
@@ -599,13 +711,14 @@ class BookingServiceImplTest {
                 .peek(booking -> {
                     booking.setBooker(booker);
                     booking.setItem(item);
+                    booking.setOwnerId(item.getOwner().getId());
                 })
                 .collect(Collectors.toList());
         List<BookingFullDto> bookingsFullDto = BookingMapper.INSTANCE.toBookingsFullDto(bookings);
 
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findAllByItem_OwnerIdAndStatusOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.anyLong(),
+                Mockito.eq(StateBooking.REJECTED), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(bookings);
 
         assertEquals(bookingsFullDto, bookingService.getAllBookingsForItemsByOwnerId(owner.getId(), "REJECTED", Pageable.ofSize(5)));
     }
@@ -625,4 +738,51 @@ class BookingServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsForItemsByOwnerId(1L, "ALL", Pageable.ofSize(5)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение количества бронирований пользователя по состояниям")
+    void getBookingSummaryByBookerId() {
+        BookingSummary summary = Mockito.mock(BookingSummary.class);
+        when(summary.getAll()).thenReturn(5L);
+        when(summary.getWaiting()).thenReturn(2L);
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.getSummaryByBookerId(Mockito.eq(1L), Mockito.any(LocalDateTime.class))).thenReturn(summary);
+
+        assertEquals(new BookingSummaryDto(5, 0, 0, 0, 2, 0, 0), bookingService.getBookingSummaryByBookerId(1L));
+    }
+
+    @Test
+    @DisplayName("Получение ошибки при получении количества бронирований владельца вещи, если пользователь не найден")
+    void shouldThrowExceptionWhenGetBookingSummaryByOwnerIdIfUserDoesNotExist() {
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingSummaryForItemsByOwnerId(1L));
+    }
+
+    @Test
+    @DisplayName("Отмена просроченных бронирований в ожидании")
+    void expireWaitingBookings() {
+        Booking first = random.nextObject(Booking.class);
+        Booking second = random.nextObject(Booking.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        when(bookingRepository.findAllByStatusAndStartBeforeAndIdGreaterThanOrderById(
+                StatusBooking.WAITING, now, 10L, PageRequest.ofSize(2))).thenReturn(List.of(first, second));
+
+        assertEquals(List.of(first.getId(), second.getId()), bookingService.expireWaitingBookings(now, 10L, 2));
+        Mockito.verify(bookingRepository).updateStatusByIdIn(List.of(first.getId(), second.getId()), StatusBooking.CANCELED);
+    }
+
+    @Test
+    @DisplayName("Отмена просроченных бронирований не выполняет обновление, если бронирований нет")
+    void expireWaitingBookingsWhenNothingToExpire() {
+        LocalDateTime now = LocalDateTime.now();
+
+        when(bookingRepository.findAllByStatusAndStartBeforeAndIdGreaterThanOrderById(
+                StatusBooking.WAITING, now, 0L, PageRequest.ofSize(2))).thenReturn(List.of());
+
+        assertEquals(List.of(), bookingService.expireWaitingBookings(now, 0L, 2));
+        Mockito.verify(bookingRepository, Mockito.never()).updateStatusByIdIn(Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Disabled
+class BookingExpiryJobTest {
+    @Mock
+    private BookingService bookingService;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingExpiryJob bookingExpiryJob;
+
+    @BeforeEach
+    void setUp() {
+        BookingExpiryProperties properties = new BookingExpiryProperties();
+        properties.setBatchSize(2);
+        bookingExpiryJob = new BookingExpiryJob(bookingService, properties,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Просроченные бронирования обрабатываются пакетами по ключу, пока не закончатся")
+    void expireWaitingBookingsInBatches() {
+        when(bookingService.expireWaitingBookings(Mockito.any(LocalDateTime.class), Mockito.eq(0L), Mockito.eq(2)))
+                .thenReturn(List.of(3L, 5L));
+        when(bookingService.expireWaitingBookings(Mockito.any(LocalDateTime.class), Mockito.eq(5L), Mockito.eq(2)))
+                .thenReturn(List.of(8L));
+
+        bookingExpiryJob.expireWaitingBookings();
+
+        assertEquals(3, meterRegistry.get(BookingExpiryJob.PROCESSED_METRIC).summary().totalAmount());
+        assertEquals(2, meterRegistry.get(BookingExpiryJob.BATCHES_METRIC).summary().totalAmount());
+        Mockito.verify(bookingService, Mockito.times(2)).expireWaitingBookings(
+                Mockito.any(LocalDateTime.class), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("Запуск без просроченных бронирований публикует нулевое количество")
+    void expireWaitingBookingsWhenNothingToExpire() {
+        when(bookingService.expireWaitingBookings(Mockito.any(LocalDateTime.class), Mockito.eq(0L), Mockito.eq(2)))
+                .thenReturn(List.of());
+
+        bookingExpiryJob.expireWaitingBookings();
+
+        assertEquals(1, meterRegistry.get(BookingExpiryJob.PROCESSED_METRIC).summary().count());
+        assertEquals(0, meterRegistry.get(BookingExpiryJob.PROCESSED_METRIC).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Запуски следуют интервалу из BookingExpiryProperties")
+    void scheduleFromProperties() {
+        contextRunner()
+                .withPropertyValues("shareit.booking.expiry.interval=PT0.05S")
+                .run(context -> Mockito.verify(bookingService, Mockito.timeout(2000).atLeast(3)).expireWaitingBookings(
+                        Mockito.any(LocalDateTime.class), Mockito.anyLong(), Mockito.anyInt()));
+    }
+
+    @Test
+    @DisplayName("Отключенная отмена просроченных бронирований не создает задачу и не включает планировщик")
+    void scheduleDisabled() {
+        contextRunner()
+                .withPropertyValues("shareit.booking.expiry.enabled=false")
+                .run(context -> {
+                    assertTrue(context.getBeansOfType(BookingExpiryJob.class).isEmpty());
+                    assertTrue(context.getBeansOfType(BookingExpiryConfig.class).isEmpty());
+                });
+    }
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+                .withUserConfiguration(BookingExpiryConfig.class, BookingExpiryJob.class, BookingExpiryProperties.class)
+                .withBean(BookingService.class, () -> bookingService);
+    }
+}
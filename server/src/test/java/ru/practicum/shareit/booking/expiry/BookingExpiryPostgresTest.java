@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, BookingIntervalIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Disabled
+class BookingExpiryPostgresTest {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("truncate bookings, items, users cascade");
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru'), " +
+                "(2, 'booker', 'booker@mail.ru')");
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id) values (1, 'item', 'item', true, 1)");
+        String insert = "insert into bookings (id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, 1, 2, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(insert, 1, now.minusDays(5), now.minusDays(4), "WAITING");
+        jdbcTemplate.update(insert, 2, now.minusDays(4), now.minusDays(3), "APPROVED");
+        jdbcTemplate.update(insert, 3, now.minusDays(3), now.minusDays(2), "WAITING");
+        jdbcTemplate.update(insert, 4, now.minusDays(2), now.minusDays(1), "WAITING");
+        jdbcTemplate.update(insert, 5, now.minusDays(1), now.plusDays(1), "WAITING");
+        jdbcTemplate.update(insert, 6, now.plusDays(1), now.plusDays(2), "WAITING");
+    }
+
+    @Test
+    @DisplayName("Просроченные бронирования в ожидании отменяются пакетами по возрастанию id")
+    void expireWaitingBookingsByKeyset() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(List.of(1L, 3L), bookingService.expireWaitingBookings(now, 0, 2));
+        assertEquals(List.of(4L, 5L), bookingService.expireWaitingBookings(now, 3, 2));
+        assertEquals(List.of(), bookingService.expireWaitingBookings(now, 5, 2));
+        assertEquals(List.of("CANCELED", "APPROVED", "CANCELED", "CANCELED", "CANCELED", "WAITING"),
+                jdbcTemplate.queryForList("select status from bookings order by id", String.class));
+    }
+
+    @Test
+    @DisplayName("Бронирования, заблокированные другой транзакцией, пропускаются без ожидания")
+    void expireWaitingBookingsSkipsLockedRows() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> expired = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.queryForList("select id from bookings where id in (1, 4) for update", Long.class);
+            return CompletableFuture.supplyAsync(() -> bookingService.expireWaitingBookings(now, 0, 10)).join();
+        });
+
+        assertEquals(List.of(3L, 5L), expired);
+        assertEquals(List.of("WAITING", "APPROVED", "CANCELED", "WAITING", "CANCELED", "WAITING"),
+                jdbcTemplate.queryForList("select status from bookings order by id", String.class));
+    }
+}
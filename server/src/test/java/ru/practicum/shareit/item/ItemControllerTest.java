@@ -18,12 +18,14 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -221,4 +223,24 @@ class ItemControllerTest {
 
         Mockito.verify(itemService).addComment(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(CommentCreateDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение занятости вещи за период")
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new ItemAvailabilityDto.IntervalDto(from.plusDays(1), from.plusDays(2))));
+        when(itemService.getAvailability(1L, from, to)).thenReturn(availability);
+
+        mvc.perform(get("/items/{itemId}/availability", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-08T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1))
+                .andExpect(jsonPath("$.busy[0].start").value("2030-01-02T00:00:00"))
+                .andExpect(jsonPath("$.busy[0].end").value("2030-01-03T00:00:00"));
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item;
+
+import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Disabled
+class ItemSearchIndexTest {
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemRepository itemRepository;
+    private final EasyRandom random = new EasyRandom();
+
+    @BeforeEach
+    void setUp() {
+        ItemSearchProperties itemSearchProperties = new ItemSearchProperties();
+        itemSearchProperties.setMode(ItemSearchMode.INDEX);
+        itemSearchIndex = new ItemSearchIndex(itemRepository, itemSearchProperties);
+    }
+
+    @Test
+    @DisplayName("Поиск вещей по началу слов в названии и описании")
+    void search() {
+        itemSearchIndex.update(createItem(3L, "Дрель", "Ударная дрель"));
+        itemSearchIndex.update(createItem(1L, "Шуруповерт", "Аккумуляторная дрель-шуруповерт"));
+        itemSearchIndex.update(createItem(2L, "Пила", "Ручная пила"));
+
+        assertArrayEquals(new long[]{1, 3}, itemSearchIndex.search("ДРЕЛ", 0, 10));
+        assertArrayEquals(new long[]{1, 3}, itemSearchIndex.search("дрелью", 0, 10));
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("дрель аккум", 0, 10));
+        assertArrayEquals(new long[]{3}, itemSearchIndex.search("дрель", 1, 10));
+        assertArrayEquals(new long[0], itemSearchIndex.search("молоток", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Обновление индекса при изменении вещи")
+    void update() {
+        Item item = createItem(1L, "Дрель", "Ударная дрель");
+        itemSearchIndex.update(item);
+
+        item.setName("Перфоратор");
+        item.setDescription("Мощный перфоратор");
+        itemSearchIndex.update(item);
+
+        assertArrayEquals(new long[0], itemSearchIndex.search("дрель", 0, 10));
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("перфоратор", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Удаление вещи из индекса, когда она недоступна")
+    void updateAvailable() {
+        Item item = createItem(1L, "Дрель", "Ударная дрель");
+        itemSearchIndex.update(item);
+
+        item.setAvailable(false);
+        itemSearchIndex.update(item);
+
+        assertArrayEquals(new long[0], itemSearchIndex.search("дрель", 0, 10));
+
+        item.setAvailable(true);
+        itemSearchIndex.update(item);
+
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Изменения вещи попадают в индекс только после фиксации транзакции")
+    void updateAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.update(createItem(1L, "Дрель", "Ударная дрель"));
+
+            assertArrayEquals(new long[0], itemSearchIndex.search("дрель", 0, 10));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Изменения вещи во время построения индекса не перезаписываются прочитанными ранее данными")
+    void updateWhileBuilding() {
+        Item stale = createItem(1L, "Дрель", "Ударная дрель");
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(Mockito.eq(0L), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    itemSearchIndex.update(createItem(1L, "Перфоратор", "Мощный перфоратор"));
+                    return List.of(stale);
+                });
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(Mockito.eq(1L), Mockito.any()))
+                .thenReturn(List.of());
+
+        itemSearchIndex.build();
+
+        assertTrue(itemSearchIndex.isReady());
+        assertArrayEquals(new long[0], itemSearchIndex.search("дрель", 0, 10));
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("перфоратор", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Короткие слова запроса ищутся только целиком, а не как начало слова")
+    void searchShortToken() {
+        itemSearchIndex.update(createItem(1L, "Дрель", "Ударная дрель"));
+        itemSearchIndex.update(createItem(2L, "Сверло", "Сверло по металлу 12 мм"));
+        itemSearchIndex.update(createItem(3L, "Уровень", "Уровень 120 см"));
+
+        assertArrayEquals(new long[0], itemSearchIndex.search("др", 0, 10));
+        assertArrayEquals(new long[]{2}, itemSearchIndex.search("12", 0, 10));
+        assertArrayEquals(new long[]{1}, itemSearchIndex.search("дре", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Удаление вещей из индекса после фиксации удаления владельца")
+    void remove() {
+        for (long id = 1; id <= 1000; id++) {
+            itemSearchIndex.update(createItem(id, "Дрель", "Ударная дрель"));
+        }
+        List<Long> removed = LongStream.rangeClosed(1, 1000)
+                .filter(id -> id % 2 == 1)
+                .boxed()
+                .collect(Collectors.toList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.remove(removed);
+
+            assertEquals(1000, itemSearchIndex.search("дрель", 0, 2000).length);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertArrayEquals(LongStream.rangeClosed(1, 1000).filter(id -> id % 2 == 0).toArray(),
+                itemSearchIndex.search("дрель", 0, 2000));
+        assertArrayEquals(new long[]{4, 6}, itemSearchIndex.search("дрель", 1, 2));
+        assertArrayEquals(new long[0], itemSearchIndex.search("дрель", 500, 2));
+    }
+
+    private Item createItem(long id, String name, String description) {
+        Item item = random.nextObject(Item.class);
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemSearchProperties.class, ItemSearchIndex.class})
+@Disabled
+class ItemServiceImplQueryCountTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private final EasyRandom random = new EasyRandom();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Получение вещей владельца не выполняет запросы бронирований и комментариев для каждой вещи")
+    void getItemsLoadsBookingsAndCommentsInOneStatement() {
+        int itemsCount = 5;
+        User owner = createUser();
+        User booker = createUser();
+        for (int i = 0; i < itemsCount; i++) {
+            Item item = createItem(owner);
+            createBooking(item, booker, LocalDateTime.now().minusDays(1));
+            createBooking(item, booker, LocalDateTime.now().plusDays(1));
+            createComment(item, booker);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemDto> items = itemService.getItems(owner.getId(), Pageable.ofSize(itemsCount));
+
+        assertEquals(itemsCount, items.size());
+        items.forEach(item -> {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertEquals(1, item.getComments().size());
+        });
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    private User createUser() {
+        User user = random.nextObject(User.class);
+        user.setId(null);
+        return userRepository.save(user);
+    }
+
+    private Item createItem(User owner) {
+        Item item = random.nextObject(Item.class);
+        item.setId(null);
+        item.setOwner(owner);
+        item.setRequest(null);
+        return itemRepository.save(item);
+    }
+
+    private void createBooking(Item item, User booker, LocalDateTime start) {
+        Booking booking = random.nextObject(Booking.class);
+        booking.setId(null);
+        booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(1));
+        booking.setStatus(StatusBooking.APPROVED);
+        bookingRepository.save(booking);
+    }
+
+    private void createComment(Item item, User author) {
+        Comment comment = random.nextObject(Comment.class);
+        comment.setId(null);
+        comment.setItem(item);
+        comment.setAuthor(author);
+        commentRepository.save(comment);
+    }
+}
@@ -11,12 +11,14 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.StatusBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -24,6 +26,9 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -32,6 +37,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -55,37 +61,51 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    private ItemSearchProperties itemSearchProperties;
+    private ItemSearchIndex itemSearchIndex;
     private final EasyRandom random = new EasyRandom();
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository);
+        itemSearchProperties = new ItemSearchProperties();
+        itemSearchIndex = new ItemSearchIndex(itemRepository, itemSearchProperties);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemRequestRepository, itemSearchProperties, itemSearchIndex);
     }
 
     @Test
     @DisplayName("Получение вещей по id владельца")
     void getItems() {
         User owner = random.nextObject(User.class);
-        Booking lastBooking = random.nextObject(Booking.class);
-        Booking nextBooking = random.nextObject(Booking.class);
-        List<Comment> comments = random.objects(Comment.class, 2).collect(Collectors.toList());
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
         List<Item> items = random.objects(Item.class, 5)
                 .peek(item -> {
+                    List<Comment> itemComments = random.objects(Comment.class, 2)
+                            .peek(comment -> comment.setItem(item))
+                            .collect(Collectors.toList());
+                    comments.addAll(itemComments);
+                    Booking lastBooking = random.nextObject(Booking.class);
+                    lastBooking.setItem(item);
+                    lastBooking.setStart(LocalDateTime.now().minusDays(1));
+                    Booking nextBooking = random.nextObject(Booking.class);
+                    nextBooking.setItem(item);
+                    nextBooking.setStart(LocalDateTime.now().plusDays(1));
+                    bookings.add(lastBooking);
+                    bookings.add(nextBooking);
                     item.setOwner(owner);
                     item.setLastBooking(lastBooking);
                     item.setNextBooking(nextBooking);
-                    item.setComments(comments);
+                    item.setComments(itemComments);
                 })
                 .collect(Collectors.toList());
         long ownerId = items.get(0).getOwner().getId();
         List<ItemDto> itemsDto = ItemMapper.INSTANCE.toItemsDto(items);
 
         when(itemRepository.findAllByOwnerIdOrderById(Mockito.anyLong(), Mockito.any(Pageable.class))).thenReturn(items);
-        when(bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartBeforeOrderByStartDesc(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(LocalDateTime.class))).thenReturn(Optional.ofNullable(lastBooking));
-        when(bookingRepository.findFirstBookingByItemIdAndStatusNotAndStartAfterOrderByStart(
-                Mockito.anyLong(), Mockito.any(StatusBooking.class), Mockito.any(LocalDateTime.class))).thenReturn(Optional.ofNullable(nextBooking));
-        when(commentRepository.findAllByItemId(Mockito.anyLong())).thenReturn(comments);
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(
+                Mockito.anyCollection(), Mockito.eq(StatusBooking.REJECTED), Mockito.any(LocalDateTime.class))).thenReturn(bookings);
+        when(commentRepository.findAllByItemIdIn(Mockito.anyCollection())).thenReturn(comments);
 
         assertEquals(itemsDto, itemService.getItems(ownerId, Pageable.ofSize(5)));
     }
@@ -277,9 +297,105 @@ class ItemServiceImplTest {
         assertEquals(itemDto1, itemService.search(1L, "text", Pageable.ofSize(1)).get(0));
     }
 
+    @Test
+    @DisplayName("Полнотекстовый поиск вещи")
+    void searchFullText() {
+        itemSearchProperties.setMode(ItemSearchMode.FULL_TEXT);
+        Item item = random.nextObject(Item.class);
+        item.setComments(Collections.emptyList());
+        item.setLastBooking(null);
+        item.setNextBooking(null);
+
+        when(itemRepository.searchFullText(Mockito.anyString(), Mockito.any(Pageable.class))).thenReturn(List.of(item));
+
+        assertEquals(List.of(ItemMapper.INSTANCE.toItemDto(item)), itemService.search(1L, "text", Pageable.ofSize(1)));
+        Mockito.verify(itemRepository, Mockito.never()).search(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Поиск вещи по триграммам с учетом опечаток")
+    void searchSimilar() {
+        itemSearchProperties.setMode(ItemSearchMode.TRIGRAM);
+        itemSearchProperties.setSimilarityThreshold(0.4);
+        Item item = random.nextObject(Item.class);
+        item.setComments(Collections.emptyList());
+        item.setLastBooking(null);
+        item.setNextBooking(null);
+
+        when(itemRepository.searchSimilar(Mockito.anyString(), Mockito.any(Pageable.class))).thenReturn(List.of(item));
+
+        assertEquals(List.of(ItemMapper.INSTANCE.toItemDto(item)), itemService.search(1L, "text", Pageable.ofSize(1)));
+        Mockito.verify(itemRepository).setWordSimilarityThreshold(0.4);
+    }
+
+    @Test
+    @DisplayName("Поиск вещи по триграммам без порога похожести")
+    void searchTrigramWithoutThreshold() {
+        itemSearchProperties.setMode(ItemSearchMode.TRIGRAM);
+
+        when(itemRepository.search(Mockito.anyString(), Mockito.any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertEquals(Collections.emptyList(), itemService.search(1L, "text", Pageable.ofSize(1)));
+        Mockito.verify(itemRepository, Mockito.never()).searchSimilar(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Поиск вещи по индексу в памяти")
+    void searchByIndex() {
+        itemSearchProperties.setMode(ItemSearchMode.INDEX);
+        Item item = random.nextObject(Item.class);
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setComments(Collections.emptyList());
+        item.setLastBooking(null);
+        item.setNextBooking(null);
+
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(item))
+                .thenReturn(Collections.emptyList());
+        when(itemRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(item));
+        itemSearchIndex.build();
+
+        assertEquals(List.of(ItemMapper.INSTANCE.toItemDto(item)), itemService.search(1L, "дрел", Pageable.ofSize(1)));
+        Mockito.verify(itemRepository, Mockito.never()).search(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Получение пустого списка при поиске, когда запрос пустой")
     void shouldGetEmptyListWhenRequestIsEmpty() {
         assertEquals(Collections.emptyList(), itemService.search(1L, "", Pageable.ofSize(5)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение занятости вещи объединяет пересекающиеся бронирования и обрезает их по периоду")
+    void getAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findIntervalsByItemIdAndStatusIn(1L, List.of(StatusBooking.APPROVED, StatusBooking.WAITING), from, to))
+                .thenReturn(List.of(
+                        new BookingInterval(from.minusDays(1), from.plusDays(1)),
+                        new BookingInterval(from.plusDays(1), from.plusDays(2)),
+                        new BookingInterval(from.plusDays(3), from.plusDays(5)),
+                        new BookingInterval(from.plusDays(4), from.plusDays(4).plusHours(1)),
+                        new BookingInterval(from.plusDays(9), to.plusDays(1))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(1L, from, to);
+
+        assertEquals(List.of(
+                new ItemAvailabilityDto.IntervalDto(from, from.plusDays(2)),
+                new ItemAvailabilityDto.IntervalDto(from.plusDays(3), from.plusDays(5)),
+                new ItemAvailabilityDto.IntervalDto(from.plusDays(9), to)), availability.getBusy());
+    }
+
+    @Test
+    @DisplayName("Получение ошибки при запросе занятости вещи за некорректный период")
+    void shouldThrowExceptionWhenGetAvailabilityWithInvalidPeriod() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, from, from));
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, from, from.plusYears(2)));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.search.ItemTextAnalyzer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Disabled
+class ItemTextAnalyzerPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder()
+                .setLocaleConfig("locale", "C.UTF-8")
+                .start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Слова приводятся к тем же основам, что и в полнотекстовом поиске Postgres с конфигурацией russian")
+    void analyzeLikePostgres() throws IOException {
+        List<String> vocabulary = readVocabulary();
+        List<String> expected = jdbcTemplate.queryForList(
+                "select array_to_string(tsvector_to_array(to_tsvector('russian', word)), ' ') " +
+                        "from unnest(string_to_array(?, E'\\n')) with ordinality as words(word, position) order by position",
+                String.class, String.join("\n", vocabulary));
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < vocabulary.size(); i++) {
+            String actual = String.join(" ", ItemTextAnalyzer.analyze(vocabulary.get(i)));
+            if (!Objects.equals(expected.get(i), actual)) {
+                mismatches.add(String.format("%s: ожидалось '%s', получено '%s'", vocabulary.get(i), expected.get(i), actual));
+            }
+        }
+
+        assertTrue(mismatches.isEmpty(), () -> String.join("\n", mismatches));
+    }
+
+    private static List<String> readVocabulary() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
+                ItemTextAnalyzerPostgresTest.class.getResourceAsStream("/search/vocabulary.txt")), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.ItemTextAnalyzer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@Disabled
+class ItemTextAnalyzerTest {
+    @Test
+    @DisplayName("Приведение словоформ к одной основе")
+    void analyzeInflectedForms() {
+        assertArrayEquals(new String[]{"дрел"}, ItemTextAnalyzer.analyze("Дрель дрели ДРЕЛЬЮ дрелями"));
+        assertArrayEquals(new String[]{"аккумуляторн", "шуруповерт"},
+                ItemTextAnalyzer.analyze("Аккумуляторная шуруповерты"));
+        assertArrayEquals(new String[]{"drill", "run"}, ItemTextAnalyzer.analyze("Drills running"));
+    }
+
+    @Test
+    @DisplayName("Замена ё на е и удаление стоп-слов")
+    void analyzeNormalization() {
+        assertArrayEquals(new String[]{"елк", "игрушк"}, ItemTextAnalyzer.analyze("Ёлка и игрушки для ёлки"));
+        assertArrayEquals(new String[]{"tent"}, ItemTextAnalyzer.analyze("The tent"));
+        assertArrayEquals(new String[0], ItemTextAnalyzer.analyze("и в the"));
+    }
+
+    @Test
+    @DisplayName("Приведение к нижнему регистру после нормализации NFKC")
+    void analyzeCase() {
+        assertArrayEquals(new String[]{"дрел", "drill", "filter"}, ItemTextAnalyzer.analyze("ДРЕЛЬ DRILL ﬁlters"));
+        assertArrayEquals(new String[]{"σίσυφος"}, ItemTextAnalyzer.analyze("ΣΊΣΥΦΟΣ"));
+    }
+}
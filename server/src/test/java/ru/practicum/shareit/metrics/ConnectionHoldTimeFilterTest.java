@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@Disabled
+class ConnectionHoldTimeFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionHoldTimeFilter filter = new ConnectionHoldTimeFilter(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    @DisplayName("Время удержания соединений суммируется по запросу и публикуется с шаблоном пути")
+    void recordsConnectionHoldTimePerRequest() throws Exception {
+        DataSource target = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        DataSource dataSource = new ConnectionHoldTimeDataSource(target);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+            try {
+                dataSource.getConnection().close();
+                Connection second = dataSource.getConnection();
+                Thread.sleep(5);
+                second.close();
+                second.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(1, meterRegistry.get(ConnectionHoldTimeFilter.HOLD_TIME_METRIC)
+                .tag("uri", "/items/{itemId}").timer().count());
+        assertTrue(meterRegistry.get(ConnectionHoldTimeFilter.HOLD_TIME_METRIC).timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 5);
+        assertEquals(2, meterRegistry.get(ConnectionHoldTimeFilter.CONNECTIONS_METRIC)
+                .tag("method", "GET").summary().totalAmount());
+        Mockito.verify(connection, Mockito.times(3)).close();
+    }
+}
@@ -13,6 +13,8 @@ import ru.practicum.shareit.exception.DataAlreadyExistException;
 import ru.practicum.shareit.exception.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -34,11 +36,15 @@ class UserServiceImplTest {
     private UserService userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
     private final EasyRandom random = new EasyRandom();
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, itemRepository, itemSearchIndex);
     }
 
     @Test
@@ -145,9 +151,11 @@ class UserServiceImplTest {
     void deleteUser() {
         long userId = 1L;
         when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(itemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(2L, 3L));
         Mockito.doNothing().when(userRepository).deleteById(Mockito.any());
         userService.deleteUser(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(itemSearchIndex, times(1)).remove(List.of(2L, 3L));
     }
 
     @Test